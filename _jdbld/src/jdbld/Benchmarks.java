@@ -0,0 +1,43 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package jdbld;
+
+import static org.jdrupes.builder.api.Intent.*;
+import org.jdrupes.builder.core.AbstractProject;
+import org.jdrupes.builder.java.JavaExecutor;
+import org.jdrupes.builder.java.JavaProject;
+import org.jdrupes.builder.mvnrepo.MvnRepoLookup;
+
+/// JMH benchmarks. Not published, run with `./jdbld runBenchmarks`.
+/// The benchmarks' sources are processed by JMH's annotation
+/// processor, see the compiler options in [Root].
+public class Benchmarks extends AbstractProject implements JavaProject {
+
+    public Benchmarks() {
+        super(name("benchmarks"));
+        dependency(Reveal, project(Core.class));
+        dependency(Reveal, new MvnRepoLookup().resolve(
+            "org.openjdk.jmh:jmh-core:1.37"));
+        dependency(Consume, new MvnRepoLookup().resolve(
+            "org.openjdk.jmh:jmh-generator-annprocess:1.37"));
+        dependency(Supply, JavaExecutor::new).name("Benchmarks")
+            .addFrom(providers().select(Supply, Reveal))
+            .mainClass("org.openjdk.jmh.Main");
+    }
+}
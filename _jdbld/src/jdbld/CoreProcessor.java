@@ -0,0 +1,47 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package jdbld;
+
+import org.jdrupes.builder.api.MergedTestProject;
+import static org.jdrupes.builder.api.Intent.*;
+import org.jdrupes.builder.core.AbstractProject;
+import org.jdrupes.builder.java.JavaLibraryProject;
+import org.jdrupes.builder.java.JavaProject;
+
+/// The annotation processor that generates the handler tables.
+/// The processor does not depend on the core at runtime, it refers
+/// to the core's types by name only.
+public class CoreProcessor extends AbstractProject
+        implements JavaLibraryProject {
+
+    public CoreProcessor() {
+        super(name("org.jgrapes.core.processor"));
+    }
+
+    public static class CoreProcessorTest extends AbstractProject
+            implements JavaProject, MergedTestProject {
+
+        public CoreProcessorTest() {
+            super(parent(CoreProcessor.class));
+            dependency(Consume, project(CoreProcessor.class));
+            dependency(Consume, project(Core.class));
+        }
+    }
+
+}
@@ -85,6 +85,7 @@ public class Root extends AbstractRootProject {
         super(name("JGrapes"));
 
         dependency(Expose, project(Core.class));
+        dependency(Expose, project(CoreProcessor.class));
         dependency(Expose, project(Util.class));
         dependency(Expose, project(IO.class));
         dependency(Expose, project(Http.class));
@@ -114,6 +115,8 @@ public class Root extends AbstractRootProject {
             .resources(of(ExecResultType).withName("EchoServer"));
         commandAlias("runHttpServerDemo")
             .resources(of(ExecResultType).withName("HttpServerDemo"));
+        commandAlias("runBenchmarks")
+            .resources(of(ExecResultType).withName("Benchmarks"));
         commandAlias("baseline")
             .resources(of(new ResourceType<BndBaselineEvaluation>() {}));
         commandAlias("ghPagesPublication")
@@ -150,9 +153,13 @@ public class Root extends AbstractRootProject {
     private static void setupCommonGenerators(Project project) {
         if (project instanceof JavaProject) {
             if (!(project instanceof MergedTestProject)) {
+                // Annotation processing must be enabled explicitly
+                // for JMH since JDK 23
                 project.generator(JavaCompiler::new)
                     .addSources(Path.of("src"), "**/*.java")
-                    .options("--release", "21");
+                    .options(project instanceof Benchmarks
+                        ? new String[] { "--release", "21", "-proc:full" }
+                        : new String[] { "--release", "21" });
                 project.generator(JavaResourceCollector::new)
                     .add(Path.of("resources"), "**/*");
             } else {
@@ -0,0 +1,342 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.benchmarks.core;
+
+import java.util.Arrays;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.ComponentType;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.NamedChannel;
+import org.jgrapes.core.annotation.Handler;
+
+/**
+ * Builds the component trees used by the benchmarks. A tree consists
+ * of a root component and a configurable number of leaf components
+ * (attached in a balanced way to intermediate nodes). The leafs
+ * are distributed round robin over a configurable number of channels
+ * and provide one of several handler configurations for {@link Ping}
+ * events.
+ */
+@SuppressWarnings("PMD.DataClass")
+public class BenchmarkTree {
+
+    /** The maximum number of children per node. */
+    private static final int FAN_OUT = 8;
+
+    private final Component root;
+    private final Channel[] channels;
+
+    /**
+     * The kinds of handler configurations provided by the leafs.
+     */
+    public enum Handlers {
+        /** One handler per component. */
+        SINGLE,
+        /** Four handlers per component, all with the same priority. */
+        MULTI,
+        /** Four handlers per component, each with a different priority. */
+        PRIORITIZED
+    }
+
+    /**
+     * The event used by the benchmarks.
+     */
+    public static class Ping extends Event<Integer> {
+
+        /**
+         * Instantiates a new ping.
+         *
+         * @param channels the channels
+         */
+        public Ping(Channel... channels) {
+            super(channels);
+        }
+    }
+
+    /**
+     * The root component.
+     */
+    public static class Root extends Component {
+
+        /**
+         * Instantiates a new root.
+         */
+        public Root() {
+            super(Channel.SELF);
+        }
+    }
+
+    /**
+     * An intermediate node that has no handlers.
+     */
+    public static class Node extends Component {
+
+        /**
+         * Instantiates a new node.
+         */
+        public Node() {
+            super(Channel.SELF);
+        }
+    }
+
+    /**
+     * A leaf with a single handler.
+     */
+    public static class SingleLeaf extends Component {
+
+        @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+        private int invocations;
+
+        /**
+         * Instantiates a new leaf.
+         *
+         * @param channel the channel
+         */
+        public SingleLeaf(Channel channel) {
+            super(channel);
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         */
+        @Handler
+        public void onPing(Ping event) {
+            invocations += 1;
+        }
+
+        /**
+         * The number of invocations.
+         *
+         * @return the value
+         */
+        public int invocations() {
+            return invocations;
+        }
+    }
+
+    /**
+     * A leaf with four handlers with the same priority.
+     */
+    public static class MultiLeaf extends Component {
+
+        @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+        private int invocations;
+
+        /**
+         * Instantiates a new leaf.
+         *
+         * @param channel the channel
+         */
+        public MultiLeaf(Channel channel) {
+            super(channel);
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         */
+        @Handler
+        public void onPing1(Ping event) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         */
+        @Handler
+        public void onPing2(Ping event) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         * @param channel the channel
+         */
+        @Handler
+        public void onPing3(Ping event, NamedChannel channel) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         */
+        @Handler(events = Ping.class)
+        public void onPing4() {
+            invocations += 1;
+        }
+
+        /**
+         * The number of invocations.
+         *
+         * @return the value
+         */
+        public int invocations() {
+            return invocations;
+        }
+    }
+
+    /**
+     * A leaf with four handlers with different priorities.
+     */
+    public static class PrioritizedLeaf extends Component {
+
+        @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+        private int invocations;
+
+        /**
+         * Instantiates a new leaf.
+         *
+         * @param channel the channel
+         */
+        public PrioritizedLeaf(Channel channel) {
+            super(channel);
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         */
+        @Handler(priority = 30)
+        public void onPing1(Ping event) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         */
+        @Handler(priority = -10)
+        public void onPing2(Ping event) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         *
+         * @param event the event
+         * @param channel the channel
+         */
+        @Handler(priority = 20)
+        public void onPing3(Ping event, NamedChannel channel) {
+            invocations += 1;
+        }
+
+        /**
+         * Handles the event.
+         */
+        @Handler(events = Ping.class, priority = 10)
+        public void onPing4() {
+            invocations += 1;
+        }
+
+        /**
+         * The number of invocations.
+         *
+         * @return the value
+         */
+        public int invocations() {
+            return invocations;
+        }
+    }
+
+    /**
+     * Creates a new tree with the given number of leafs, handler
+     * configuration and number of channels. The tree is started
+     * before the constructor returns.
+     *
+     * @param leafs the number of leafs
+     * @param handlers the handler configuration of the leafs
+     * @param channelCount the number of channels
+     * @throws InterruptedException the interrupted exception
+     */
+    public BenchmarkTree(int leafs, Handlers handlers, int channelCount)
+            throws InterruptedException {
+        channels = new Channel[channelCount];
+        for (int i = 0; i < channelCount; i++) {
+            channels[i] = new NamedChannel("bench-" + i);
+        }
+        root = new Root();
+        Component[] parents = { root };
+        int remaining = leafs;
+        // Add intermediate levels until the leafs fit.
+        while (parents.length * FAN_OUT < remaining) {
+            Component[] level = new Component[parents.length * FAN_OUT];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = parents[i / FAN_OUT].attach(new Node());
+            }
+            parents = level;
+        }
+        for (int i = 0; i < leafs; i++) {
+            parents[i % parents.length]
+                .attach(newLeaf(handlers, channels[i % channelCount]));
+        }
+        Components.start(root);
+    }
+
+    private static ComponentType newLeaf(Handlers handlers,
+            Channel channel) {
+        switch (handlers) {
+        case MULTI:
+            return new MultiLeaf(channel);
+        case PRIORITIZED:
+            return new PrioritizedLeaf(channel);
+        default:
+            return new SingleLeaf(channel);
+        }
+    }
+
+    /**
+     * Returns the root of the tree.
+     *
+     * @return the root
+     */
+    public Component root() {
+        return root;
+    }
+
+    /**
+     * Returns the first `count` channels used by the leafs.
+     *
+     * @param count the count
+     * @return the channels
+     */
+    public Channel[] channels(int count) {
+        return Arrays.copyOf(channels, Math.min(count, channels.length));
+    }
+
+    /**
+     * Returns all channels used by the leafs.
+     *
+     * @return the channels
+     */
+    public Channel[] channels() {
+        return channels(channels.length);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.CompletionEvent;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the propagation of completion through the events
+ * caused by an event (`EventBase.decrementOpen`). Handling a
+ * {@link Cascade} event with a depth greater than zero fires
+ * `fanOut` new events with the depth decremented by one. The
+ * benchmark waits for the completion of the initial event, which
+ * completes only after all events caused by it have completed.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompletionBenchmark {
+
+    @Param({ "1", "4", "12" })
+    private int depth;
+
+    @Param({ "1", "2" })
+    private int fanOut;
+
+    @Param({ "false", "true" })
+    private boolean completionEvents;
+
+    private Generator generator;
+
+    /**
+     * The event that causes the cascade.
+     */
+    public static class Cascade extends Event<Void> {
+
+        private final int depth;
+        private final int fanOut;
+        private final boolean completionEvents;
+
+        /**
+         * Instantiates a new event.
+         *
+         * @param depth the remaining depth
+         * @param fanOut the number of events to fire when handled
+         * @param completionEvents whether to add completion events
+         */
+        public Cascade(int depth, int fanOut, boolean completionEvents) {
+            this.depth = depth;
+            this.fanOut = fanOut;
+            this.completionEvents = completionEvents;
+            if (completionEvents) {
+                new Cascaded(this);
+            }
+        }
+    }
+
+    /**
+     * The completion event used if completion events are enabled.
+     */
+    public static class Cascaded extends CompletionEvent<Cascade> {
+
+        /**
+         * Instantiates a new event.
+         *
+         * @param monitoredEvent the monitored event
+         */
+        public Cascaded(Cascade monitoredEvent) {
+            super(monitoredEvent);
+        }
+    }
+
+    /**
+     * The component that handles the {@link Cascade} events.
+     */
+    public static class Generator extends Component {
+
+        /**
+         * Instantiates a new generator.
+         */
+        public Generator() {
+            super(Channel.SELF);
+        }
+
+        /**
+         * Fires the next level of events.
+         *
+         * @param event the event
+         */
+        @Handler
+        public void onCascade(Cascade event) {
+            if (event.depth == 0) {
+                return;
+            }
+            for (int i = 0; i < event.fanOut; i++) {
+                fire(new Cascade(event.depth - 1, event.fanOut,
+                    event.completionEvents));
+            }
+        }
+
+        /**
+         * Completion events must be handled (by some component)
+         * for the measurement to be meaningful.
+         *
+         * @param event the event
+         */
+        @Handler
+        public void onCascaded(Cascaded event) {
+            // Nothing to do
+        }
+    }
+
+    /**
+     * Creates and starts the component.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        generator = new Generator();
+        Components.start(generator);
+    }
+
+    /**
+     * Fire the initial event and wait for its completion.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    public void cascade() throws InterruptedException {
+        generator.fire(new Cascade(depth, fanOut, completionEvents)).get();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.benchmarks.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jgrapes.benchmarks.core.BenchmarkTree.Handlers;
+import org.jgrapes.benchmarks.core.BenchmarkTree.Ping;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.EventPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the complete dispatch path, i.e. `Manager.fire` →
+ * `EventProcessor.run` → `HandlerReference.invoke`, for varying
+ * tree sizes, handler configurations and channel counts. The
+ * handler cache is warm, so these numbers reflect the steady state.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DispatchBenchmark {
+
+    /** The number of events fired per throughput invocation. */
+    public static final int BATCH = 1000;
+
+    @Param({ "1", "16", "256" })
+    private int leafs;
+
+    @Param({ "SINGLE", "MULTI", "PRIORITIZED" })
+    private Handlers handlers;
+
+    @Param({ "1", "4" })
+    private int channelCount;
+
+    private BenchmarkTree tree;
+    private Channel[] channels;
+    private EventPipeline pipeline;
+
+    /**
+     * Creates and starts the tree.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        tree = new BenchmarkTree(leafs, handlers, channelCount);
+        channels = tree.channels();
+        pipeline = tree.root().newEventPipeline();
+        // Fill the handler cache.
+        tree.root().fire(new Ping(), channels).get();
+    }
+
+    /**
+     * Fires an event from a thread that is not associated with a
+     * pipeline and waits for its completion with {@link Ping#get()}.
+     * This measures the latency of a single round trip.
+     *
+     * @return the result
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    @BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Integer roundTrip() throws InterruptedException {
+        return tree.root().fire(new Ping(), channels).get();
+    }
+
+    /**
+     * Fires {@link #BATCH} events on a dedicated pipeline and waits
+     * until the pipeline is exhausted. This measures the throughput
+     * of a busy pipeline.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void pipelineThroughput() throws InterruptedException {
+        for (int i = 0; i < BATCH; i++) {
+            pipeline.fire(new Ping(), channels);
+        }
+        pipeline.awaitExhaustion();
+    }
+
+    /**
+     * Like {@link #pipelineThroughput()}, but fires the events with
+     * a single invocation of {@link EventPipeline#fireAll}.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void pipelineBatchThroughput() throws InterruptedException {
+        List<Ping> events = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            events.add(new Ping());
+        }
+        pipeline.fireAll(events, channels);
+        pipeline.awaitExhaustion();
+    }
+}
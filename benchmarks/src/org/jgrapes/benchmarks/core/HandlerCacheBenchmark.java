@@ -0,0 +1,132 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+import org.jgrapes.benchmarks.core.BenchmarkTree.Handlers;
+import org.jgrapes.benchmarks.core.BenchmarkTree.Ping;
+import org.jgrapes.benchmarks.core.BenchmarkTree.SingleLeaf;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Components;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares dispatching with a handler cache hit in
+ * `ComponentTree.getEventHandlers` with dispatching after the
+ * cache has been invalidated by a change of the tree. The difference
+ * is the cost of collecting the handlers for an event.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HandlerCacheBenchmark {
+
+    /**
+     * A started tree with a warm handler cache.
+     */
+    @State(Scope.Benchmark)
+    public static class Warm {
+
+        @Param({ "16", "256", "4096" })
+        private int leafs;
+
+        @Param({ "SINGLE", "MULTI" })
+        private Handlers handlers;
+
+        protected BenchmarkTree tree;
+        protected Channel[] channels;
+
+        /**
+         * Creates and starts the tree.
+         *
+         * @throws InterruptedException the interrupted exception
+         */
+        @Setup(Level.Trial)
+        public void setup() throws InterruptedException {
+            tree = new BenchmarkTree(leafs, handlers, 1);
+            channels = tree.channels();
+            tree.root().fire(new Ping(), channels).get();
+        }
+    }
+
+    /**
+     * A started tree with a handler cache that is invalidated
+     * before every invocation.
+     */
+    @State(Scope.Benchmark)
+    public static class Invalidated extends Warm {
+
+        private SingleLeaf spare;
+
+        /**
+         * Attaches or detaches a spare component, thus invalidating
+         * the handler cache. Not part of the measurement.
+         *
+         * @throws InterruptedException the interrupted exception
+         */
+        @Setup(Level.Invocation)
+        public void invalidate() throws InterruptedException {
+            // A detached component cannot be attached again
+            if (spare == null) {
+                spare = tree.root().attach(new SingleLeaf(channels[0]));
+            } else {
+                spare.detach();
+                spare = null;
+            }
+            Components.awaitExhaustion();
+        }
+    }
+
+    /**
+     * Dispatch with a warm cache.
+     *
+     * @param state the state
+     * @return the result
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    public Integer hit(Warm state) throws InterruptedException {
+        return state.tree.root().fire(new Ping(), state.channels).get();
+    }
+
+    /**
+     * Dispatch after the cache has been invalidated.
+     *
+     * @param state the state
+     * @return the result
+     * @throws InterruptedException the interrupted exception
+     */
+    @Benchmark
+    public Integer miss(Invalidated state) throws InterruptedException {
+        return state.tree.root().fire(new Ping(), state.channels).get();
+    }
+}
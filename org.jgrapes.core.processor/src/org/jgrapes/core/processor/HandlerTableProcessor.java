@@ -0,0 +1,205 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a handler table for every component class 
+ * (i.e. every class that implements `org.jgrapes.core.ComponentType`)
+ * that has handler methods. Handler methods are the public methods 
+ * of the class (including the inherited methods) that are annotated
+ * with an annotation that is itself annotated with
+ * `org.jgrapes.core.annotation.HandlerDefinition`.
+ * 
+ * The handler table is a class in the same package as the component
+ * class. Its name is the binary name of the component class with 
+ * `_HandlerTable` appended. It implements 
+ * `org.jgrapes.core.annotation.HandlerTable` and provides
+ * an invoker for each handler method that calls the method directly.
+ * 
+ * No table is generated for abstract and private classes and for 
+ * classes with a handler method that has more than two parameters.
+ * The handlers of such classes are looked up by reflection at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public class HandlerTableProcessor extends AbstractProcessor {
+
+    private static final String COMPONENT_TYPE
+        = "org.jgrapes.core.ComponentType";
+    private static final String HANDLER_DEFINITION
+        = "org.jgrapes.core.annotation.HandlerDefinition";
+    private static final String HANDLER_TABLE
+        = "org.jgrapes.core.annotation.HandlerTable";
+    private static final String CLASS_NAME_SUFFIX = "_HandlerTable";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment roundEnv) {
+        TypeElement componentType
+            = processingEnv.getElementUtils().getTypeElement(COMPONENT_TYPE);
+        if (componentType == null) {
+            // Not compiling against JGrapes
+            return false;
+        }
+        for (TypeElement type : ElementFilter
+            .typesIn(roundEnv.getRootElements())) {
+            processType(type, componentType.asType());
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type, TypeMirror componentType) {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            // Neither the class nor its nested classes are accessible
+            return;
+        }
+        for (TypeElement nested : ElementFilter
+            .typesIn(type.getEnclosedElements())) {
+            processType(nested, componentType);
+        }
+        if (type.getKind() != ElementKind.CLASS
+            || type.getModifiers().contains(Modifier.ABSTRACT)
+            || !processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type.asType()),
+                componentType)) {
+            return;
+        }
+        List<ExecutableElement> handlers = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(
+            processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)
+                || method.getModifiers().contains(Modifier.STATIC)
+                || !isHandler(method)) {
+                continue;
+            }
+            if (method.getParameters().size() > 2) {
+                // Leave it to the runtime to report the problem
+                return;
+            }
+            handlers.add(method);
+        }
+        if (handlers.isEmpty()) {
+            return;
+        }
+        try {
+            writeTable(type, handlers);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Cannot write handler table: " + e.getMessage(), type);
+        }
+    }
+
+    private boolean isHandler(ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            for (AnnotationMirror meta : annotation.getAnnotationType()
+                .asElement().getAnnotationMirrors()) {
+                if (((TypeElement) meta.getAnnotationType().asElement())
+                    .getQualifiedName().contentEquals(HANDLER_DEFINITION)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    @SuppressWarnings("PMD.ConsecutiveLiteralAppends")
+    private void writeTable(TypeElement type, List<ExecutableElement> handlers)
+            throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String binaryName
+            = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String tableName = binaryName + CLASS_NAME_SUFFIX;
+        String simpleName = pkg.isUnnamed() ? tableName
+            : tableName.substring(pkg.getQualifiedName().length() + 1);
+        String componentClass = erasure(type.asType());
+        try (Writer writer = processingEnv.getFiler()
+            .createSourceFile(tableName, type).openWriter();
+                PrintWriter out = new PrintWriter(writer)) {
+            if (!pkg.isUnnamed()) {
+                out.append("package ").append(pkg.getQualifiedName())
+                    .append(";\n\n");
+            }
+            out.append("/** Generated by ")
+                .append(HandlerTableProcessor.class.getName())
+                .append(". */\n")
+                .append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements ").append(HANDLER_TABLE).append(" {\n\n")
+                .append("    @Override\n    public java.util.List<")
+                .append(HANDLER_TABLE).append(".Entry> entries() {\n")
+                .append("        return java.util.List.of(");
+            String separator = "\n";
+            for (ExecutableElement method : handlers) {
+                List<String> params = method.getParameters().stream()
+                    .map(p -> erasure(p.asType())).collect(Collectors.toList());
+                List<String> args = new ArrayList<>();
+                if (!params.isEmpty()) {
+                    args.add("(" + params.get(0) + ") event");
+                }
+                if (params.size() > 1) {
+                    args.add("(" + params.get(1) + ") channel");
+                }
+                out.append(separator).append("            new ")
+                    .append(HANDLER_TABLE).append(".Entry(\"")
+                    .append(method.getSimpleName()).append("\",\n")
+                    .append("                new Class<?>[] { ")
+                    .append(params.stream().map(p -> p + ".class")
+                        .collect(Collectors.joining(", ")))
+                    .append(" },\n")
+                    .append("                (component, event, channel) -> ")
+                    .append("((")
+                    .append(componentClass).append(") component).")
+                    .append(method.getSimpleName()).append('(')
+                    .append(String.join(", ", args))
+                    .append("))");
+                separator = ",\n";
+            }
+            out.append(");\n    }\n}\n");
+        }
+    }
+}
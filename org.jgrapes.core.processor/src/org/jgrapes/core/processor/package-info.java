@@ -0,0 +1,32 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * An annotation processor that generates the handler tables used
+ * by the JGrapes core to register the handlers of components 
+ * without reflection.
+ * 
+ * The processor is enabled by putting this library on the annotation 
+ * processor path of the compiler (e.g. with `-processorpath`). 
+ * Note that starting with Java 23, annotation processing must
+ * also be enabled explicitly (`-proc:full`).
+ * 
+ * See {@link org.jgrapes.core.processor.HandlerTableProcessor}
+ * for details.
+ */
+package org.jgrapes.core.processor;
@@ -0,0 +1,284 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.processor.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.ComponentType;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.annotation.HandlerTable;
+import org.jgrapes.core.processor.HandlerTableProcessor;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HandlerTableProcessorTest {
+
+    // The class isn't public, so the framework cannot invoke
+    // its methods by reflection, only by using the handler table.
+    private static final String SAMPLE = """
+        package sample;
+
+        import org.jgrapes.core.Channel;
+        import org.jgrapes.core.Component;
+        import org.jgrapes.core.annotation.Handler;
+        import org.jgrapes.core.processor.test.Probe;
+
+        class Sample extends Component {
+
+            public static class Base extends Component {
+                public Base(Channel channel) {
+                    super(channel);
+                }
+
+                @Handler
+                public void onInherited(Probe event) {
+                    event.handled.add("inherited");
+                }
+            }
+
+            static class Nested extends Base {
+                Nested(Channel channel) {
+                    super(channel);
+                }
+
+                @Handler
+                public void onProbe(Probe event, Channel channel) {
+                    event.handled.add("nested");
+                }
+            }
+
+            Sample() {
+                attach(new Nested(channel()));
+            }
+
+            @Handler(priority = 10)
+            public void onProbe(Probe event) {
+                event.handled.add("sample");
+            }
+
+            public void notAHandler(Probe event) {
+                event.handled.add("wrong");
+            }
+        }
+        """;
+
+    private static final String BASE = """
+        package sample;
+
+        import org.jgrapes.core.Channel;
+        import org.jgrapes.core.Component;
+        import org.jgrapes.core.annotation.Handler;
+        import org.jgrapes.core.processor.test.Probe;
+
+        public class Base extends Component {
+            public Base(Channel channel) {
+                super(channel);
+            }
+
+            @Handler
+            public void onBase(Probe event) {
+                event.handled.add("base");
+            }
+        %s}
+        """;
+
+    private static final String ADDED_HANDLER = """
+
+            @Handler
+            public void onAdded(Probe event) {
+                event.handled.add("added");
+            }
+        """;
+
+    // The handler annotation has moved to another method
+    private static final String MOVED_BASE = """
+        package sample;
+
+        import org.jgrapes.core.Channel;
+        import org.jgrapes.core.Component;
+        import org.jgrapes.core.annotation.Handler;
+        import org.jgrapes.core.processor.test.Probe;
+
+        public class Base extends Component {
+            public Base(Channel channel) {
+                super(channel);
+            }
+
+            public void onBase(Probe event) {
+                event.handled.add("wrong");
+            }
+
+            @Handler
+            public void onMoved(Probe event) {
+                event.handled.add("moved");
+            }
+        }
+        """;
+
+    private static final String DERIVED = """
+        package sample;
+
+        import org.jgrapes.core.Channel;
+        import org.jgrapes.core.annotation.Handler;
+        import org.jgrapes.core.processor.test.Probe;
+
+        public class Derived extends Base {
+            public Derived() {
+                super(Channel.SELF);
+            }
+
+            @Handler
+            public void onDerived(Probe event) {
+                event.handled.add("derived");
+            }
+        }
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource()
+                .getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ClassLoader compile() throws IOException {
+        return compile(true, Map.of("Sample", SAMPLE));
+    }
+
+    private ClassLoader compile(boolean process, Map<String, String> sources)
+            throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve("src/sample"));
+        List<Path> paths = new ArrayList<>();
+        for (var source : sources.entrySet()) {
+            Path path = dir.resolve(source.getKey() + ".java");
+            Files.writeString(path, source.getValue());
+            paths.add(path);
+        }
+        Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files
+            = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units
+                = files.getJavaFileObjectsFromPaths(paths);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files,
+                null, List.of("-d", classes.toString(), "-cp",
+                    classes + File.pathSeparator
+                        + location(ComponentType.class) + File.pathSeparator
+                        + location(Probe.class)),
+                null, units);
+            task.setProcessors(process ? List.of(new HandlerTableProcessor())
+                : List.of());
+            assertTrue(task.call());
+        }
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() },
+            getClass().getClassLoader());
+    }
+
+    @Test
+    void testGeneratedTables() throws Exception {
+        ClassLoader loader = compile();
+        HandlerTable table = (HandlerTable) loader
+            .loadClass("sample.Sample" + HandlerTable.CLASS_NAME_SUFFIX)
+            .getDeclaredConstructor().newInstance();
+        assertEquals(1, table.entries().size());
+        assertEquals("onProbe", table.entries().get(0).methodName());
+        table = (HandlerTable) loader
+            .loadClass("sample.Sample$Nested" + HandlerTable.CLASS_NAME_SUFFIX)
+            .getDeclaredConstructor().newInstance();
+        assertEquals(2, table.entries().size());
+        assertArrayEquals(new Class<?>[] { Probe.class, Channel.class },
+            table.entries().stream().filter(e -> e.parameterTypes().length == 2)
+                .findFirst().get().parameterTypes());
+
+        var constructor = loader.loadClass("sample.Sample")
+            .getDeclaredConstructor();
+        constructor.setAccessible(true);
+        ComponentType app = (ComponentType) constructor.newInstance();
+        Components.start(app);
+        Probe probe = new Probe();
+        Components.manager(app).fire(probe).get();
+        assertEquals("sample", probe.handled.get(0));
+        assertEquals(List.of("inherited", "nested"),
+            probe.handled.subList(1, 3).stream().sorted().toList());
+        assertEquals(3, probe.handled.size());
+    }
+
+    private List<String> handledWithOutdatedTable(boolean processBase,
+            String base) throws Exception {
+        compile(true, Map.of("Base", String.format(BASE, ""),
+            "Derived", DERIVED));
+        // Super class changed without regenerating the derived class' table
+        ClassLoader loader = compile(processBase, Map.of("Base", base));
+        if (!processBase) {
+            // A super class compiled without the processor has no table
+            Files.delete(tempDir.resolve("classes/sample/Base"
+                + HandlerTable.CLASS_NAME_SUFFIX + ".class"));
+        }
+        HandlerTable table = (HandlerTable) loader
+            .loadClass("sample.Derived" + HandlerTable.CLASS_NAME_SUFFIX)
+            .getDeclaredConstructor().newInstance();
+        assertEquals(2, table.entries().size());
+
+        ComponentType app = (ComponentType) loader.loadClass("sample.Derived")
+            .getDeclaredConstructor().newInstance();
+        Components.start(app);
+        Probe probe = new Probe();
+        Components.manager(app).fire(probe).get();
+        return probe.handled.stream().sorted().toList();
+    }
+
+    @Test
+    void testOutdatedTable() throws Exception {
+        assertEquals(List.of("added", "base", "derived"),
+            handledWithOutdatedTable(false,
+                String.format(BASE, ADDED_HANDLER)));
+    }
+
+    @Test
+    void testOutdatedTableWithBaseTable() throws Exception {
+        assertEquals(List.of("added", "base", "derived"),
+            handledWithOutdatedTable(true,
+                String.format(BASE, ADDED_HANDLER)));
+    }
+
+    @Test
+    void testMovedAnnotation() throws Exception {
+        assertEquals(List.of("derived", "moved"),
+            handledWithOutdatedTable(false, MOVED_BASE));
+    }
+}
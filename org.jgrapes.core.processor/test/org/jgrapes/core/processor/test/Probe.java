@@ -0,0 +1,32 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.processor.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jgrapes.core.Event;
+
+/**
+ * The event handled by the sample components.
+ */
+public class Probe extends Event<Void> {
+    public final List<String> handled
+        = Collections.synchronizedList(new ArrayList<>());
+}
@@ -22,20 +22,23 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import org.jgrapes.core.annotation.ComponentManager;
 import org.jgrapes.core.events.Start;
@@ -83,6 +86,78 @@ public class Components {
             System.getProperty("jgrapes.useVirtualThreads", "true"));
     }
 
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static volatile boolean blockingHandlersAllowed
+        = Boolean.parseBoolean(System.getProperty("jgrapes.blockingHandlers",
+            Boolean.toString(useVirtualThreads())));
+
+    /**
+     * Returns whether handlers may block, e.g. by waiting for the
+     * completion of an event with {@link Event#get()}. 
+     * 
+     * The framework's blocking operations do not pin virtual threads
+     * to their carrier threads, so blocking in handlers is safe when
+     * the pipelines use virtual threads. The value therefore defaults 
+     * to {@link #useVirtualThreads()}. It can be set explicitly by 
+     * starting the JVM with property `-Djgrapes.blockingHandlers=...` 
+     * or by invoking {@link #setBlockingHandlersAllowed(boolean)}.
+     * 
+     * If blocking is not allowed, a warning is logged (with the core
+     * package logger with ".blocking" appended) when a handler 
+     * blocks. Waiting for an event that is to be handled by the 
+     * pipeline of the waiting handler (which causes a deadlock) 
+     * is always reported.
+     *
+     * @return true, if blocking handlers are allowed
+     */
+    public static boolean blockingHandlersAllowed() {
+        return blockingHandlersAllowed;
+    }
+
+    /**
+     * Allows or disallows blocking handlers.
+     *
+     * @param allowed the new value
+     * @see #blockingHandlersAllowed()
+     */
+    public static void setBlockingHandlersAllowed(boolean allowed) {
+        blockingHandlersAllowed = allowed;
+    }
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static volatile boolean inlineDispatch
+        = Boolean.getBoolean("jgrapes.inlineDispatch");
+
+    /**
+     * Returns whether events may be dispatched inline. If enabled,
+     * an event that is fired by a handler on the pipeline that is 
+     * executing the handler is not added to the pipeline's queue if 
+     * the queue is empty, i.e. if the event would be the next event 
+     * to be handled anyway. Rather, it is handled directly after 
+     * the current handler chain. This does not change the order in
+     * which events are handled, but it avoids the synchronization
+     * required for adding events to the queue.
+     * 
+     * Inline dispatch is disabled by default. It can be enabled 
+     * by starting the JVM with property `-Djgrapes.inlineDispatch=true` 
+     * or by invoking {@link #setInlineDispatch(boolean)}.
+     *
+     * @return true, if events may be dispatched inline
+     */
+    public static boolean inlineDispatch() {
+        return inlineDispatch;
+    }
+
+    /**
+     * Enables or disables inline dispatch.
+     *
+     * @param enabled the new value
+     * @see #inlineDispatch()
+     */
+    public static void setInlineDispatch(boolean enabled) {
+        inlineDispatch = enabled;
+    }
+
     private Components() {
     }
 
@@ -113,6 +188,34 @@ public class Components {
         Components.defaultExecutorService = defaultExecutorService;
     }
 
+    /**
+     * Creates an executor service with a fixed number of (daemon)
+     * worker threads, each of which has its own queue of tasks. Idle
+     * workers steal tasks from the queues of busy workers.
+     * 
+     * Event pipelines that use the returned executor service (see
+     * {@link Manager#newEventPipeline(ExecutorService)}) handle a
+     * limited number of events before they yield their worker thread
+     * to other pipelines. This prevents a busy pipeline from starving
+     * the others while keeping the handling of a pipeline's events
+     * on a single thread at a time, thus preserving their order.
+     * 
+     * Using such an executor service can be beneficial if there are
+     * many pipelines with handlers that do not block.
+     *
+     * @param parallelism the number of worker threads
+     * @return the executor service
+     */
+    public static ExecutorService
+            newWorkStealingExecutorService(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            var thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
     /**
      * Returns a component's manager. For a component that inherits
      * from {@link org.jgrapes.core.Component} this method simply returns
@@ -393,6 +496,11 @@ public class Components {
         private final Scheduler scheduler;
         private final TimeoutHandler timeoutHandler;
         private Instant scheduledFor;
+        // Maintained by the scheduler
+        private long expiresAt;
+        private Timer[] bucket;
+        private Timer previous;
+        private Timer next;
 
         private Timer(Scheduler scheduler,
                 TimeoutHandler timeoutHandler, Instant scheduledFor) {
@@ -466,13 +574,36 @@ public class Components {
     }
 
     /**
-     * A general purpose scheduler.
+     * A general purpose scheduler, implemented as a hashed timing wheel.
+     * 
+     * Time is divided into ticks, the duration of a tick can be set
+     * with the system property `jgrapes.scheduler.tickMillis` (defaults
+     * to 10). Timers are kept in doubly linked lists ("buckets"),
+     * selected by the tick in which they expire modulo the number of
+     * buckets. Scheduling, rescheduling and cancelling timers therefore
+     * takes constant time. Timers are never run before the time that
+     * they are scheduled for, but may be run up to a tick later.
      */
     @SuppressWarnings("PMD.PublicMemberInNonPublicType")
     private static class Scheduler extends Thread {
 
-        private final Queue<Timer> timers = new PriorityQueue<>(10,
-            Comparator.comparing(Timer::scheduledFor));
+        private static final int WHEEL_SIZE = 512;
+        private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+        // Avoids overflows, timers won't expire anyway.
+        private static final Duration MAX_DELAY = Duration.ofDays(365_000);
+
+        private final long tickNanos = Duration.ofMillis(Math.max(1,
+            Long.getLong("jgrapes.scheduler.tickMillis", 10))).toNanos();
+        private final long startedAt = System.nanoTime();
+        // Each bucket is represented by an array with the
+        // list's head as single element.
+        private final Timer[][] wheel = new Timer[WHEEL_SIZE][1];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private long processedTick;
+        private int scheduled;
+        // The tick that the waiting scheduler wakes up for
+        private long wakeTick = Long.MIN_VALUE;
 
         /**
          * Instantiates a new scheduler.
@@ -482,6 +613,10 @@ public class Components {
                 .name("Components.Scheduler").start(this);
         }
 
+        private long currentTick() {
+            return (System.nanoTime() - startedAt) / tickNanos;
+        }
+
         /**
          * Schedule the handler and return the resulting timer.
          *
@@ -492,59 +627,160 @@ public class Components {
         public Timer schedule(
                 TimeoutHandler timeoutHandler, Instant scheduledFor) {
             Timer timer = new Timer(this, timeoutHandler, scheduledFor);
-            synchronized (timers) {
-                timers.add(timer);
-                timers.notifyAll();
+            lock.lock();
+            try {
+                insert(timer);
+            } finally {
+                lock.unlock();
             }
             return timer;
         }
 
         private void reschedule(Timer timer, Instant scheduledFor) {
-            synchronized (timers) {
-                timers.remove(timer);
+            lock.lock();
+            try {
+                unlink(timer);
                 timer.scheduledFor = scheduledFor;
-                timers.add(timer);
-                timers.notifyAll();
+                insert(timer);
+            } finally {
+                lock.unlock();
             }
         }
 
         private void cancel(Timer timer) {
-            synchronized (timers) {
-                if (timers.remove(timer)) {
-                    timers.notifyAll();
-                }
+            lock.lock();
+            try {
+                unlink(timer);
                 timer.scheduledFor = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void insert(Timer timer) {
+            Duration delay = Duration.between(Instant.now(),
+                timer.scheduledFor);
+            long delayNanos = delay.isNegative() ? 0
+                : delay.compareTo(MAX_DELAY) > 0 ? MAX_DELAY.toNanos()
+                : delay.toNanos();
+            // Round up, the timer must not expire early
+            long expiresAt = Math.max(processedTick + 1,
+                (System.nanoTime() - startedAt + delayNanos + tickNanos - 1)
+                    / tickNanos);
+            timer.expiresAt = expiresAt;
+            timer.bucket = wheel[(int) (expiresAt & WHEEL_MASK)];
+            timer.previous = null;
+            timer.next = timer.bucket[0];
+            if (timer.next != null) {
+                timer.next.previous = timer;
+            }
+            timer.bucket[0] = timer;
+            scheduled += 1;
+            if (expiresAt < wakeTick) {
+                // Scheduler is waiting for a later tick (or none)
+                changed.signalAll();
+            }
+        }
+
+        private void unlink(Timer timer) {
+            if (timer.bucket == null) {
+                return;
+            }
+            if (timer.previous == null) {
+                timer.bucket[0] = timer.next;
+            } else {
+                timer.previous.next = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.previous = timer.previous;
+            }
+            timer.bucket = null;
+            timer.previous = null;
+            timer.next = null;
+            scheduled -= 1;
+        }
+
+        /**
+         * Removes all timers that have expired up to the current tick
+         * from the wheel and adds them to the given list.
+         *
+         * @param expired the list of expired timers
+         */
+        private void collectExpired(List<Timer> expired) {
+            long now = currentTick();
+            // Visit each bucket at most once, even if the scheduler
+            // has not been processing ticks for a long time.
+            for (long tick = Math.max(processedTick + 1, now - WHEEL_MASK);
+                    tick <= now; tick++) {
+                Timer timer = wheel[(int) (tick & WHEEL_MASK)][0];
+                while (timer != null) {
+                    Timer next = timer.next;
+                    if (timer.expiresAt <= now) {
+                        unlink(timer);
+                        expired.add(timer);
+                    }
+                    timer = next;
+                }
             }
+            processedTick = Math.max(processedTick, now);
+        }
+
+        /**
+         * Returns the earliest tick at which a timer expires or
+         * {@link Long#MAX_VALUE} if no timers are scheduled.
+         * 
+         * A timer in the bucket for tick `t` (with `t` from the
+         * round following the processed tick) cannot expire before
+         * `t`, so the search stops as soon as the earliest expiry
+         * found is not after the bucket's tick.
+         *
+         * @return the tick
+         */
+        private long nextExpiry() {
+            long earliest = Long.MAX_VALUE;
+            if (scheduled == 0) {
+                return earliest;
+            }
+            for (long tick = processedTick + 1;
+                    tick <= processedTick + WHEEL_SIZE && earliest > tick;
+                    tick++) {
+                for (Timer timer = wheel[(int) (tick & WHEEL_MASK)][0];
+                        timer != null; timer = timer.next) {
+                    earliest = Math.min(earliest, timer.expiresAt);
+                }
+            }
+            return earliest;
         }
 
         @Override
+        @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
         public void run() {
+            List<Timer> expired = new ArrayList<>();
             while (true) {
-                while (true) {
-                    final Timer first;
-                    synchronized (timers) {
-                        first = timers.peek();
-                        if (first == null
-                            || first.scheduledFor().isAfter(Instant.now())) {
-                            break;
-                        }
-                        timers.poll();
-                    }
-                    timerExecutorService.submit(
-                        () -> first.timeoutHandler().timeout(first));
-                }
                 try {
-                    synchronized (timers) {
-                        if (timers.isEmpty()) {
-                            timers.wait();
-                        } else {
-                            timers
-                                .wait(Math.max(1,
-                                    Duration.between(Instant.now(),
-                                        timers.peek().scheduledFor())
-                                        .toMillis()));
+                    lock.lock();
+                    try {
+                        collectExpired(expired);
+                        if (expired.isEmpty()) {
+                            // Sleep until the next timer expires
+                            wakeTick = nextExpiry();
+                            if (wakeTick == Long.MAX_VALUE) {
+                                changed.await();
+                            } else {
+                                changed.awaitNanos(startedAt
+                                    + wakeTick * tickNanos
+                                    - System.nanoTime());
+                            }
+                            wakeTick = Long.MIN_VALUE;
                         }
+                    } finally {
+                        lock.unlock();
                     }
+                    for (Timer timer : expired) {
+                        timerExecutorService.submit(
+                            () -> timer.timeoutHandler().timeout(timer));
+                    }
+                    expired.clear();
                 } catch (Exception e) { // NOPMD
                     // Keep running.
                 }
@@ -558,6 +794,11 @@ public class Components {
     /**
      * Schedules the given timeout handler for the given instance. 
      * 
+     * The handler is invoked no earlier than the given instant, but
+     * may be delayed by up to the scheduler's tick duration, which can
+     * be set with the system property `jgrapes.scheduler.tickMillis`
+     * (defaults to 10 ms).
+     * 
      * @param timeoutHandler the handler
      * @param scheduledFor the instance in time
      * @return the timer
@@ -19,6 +19,8 @@
 package org.jgrapes.core;
 
 import java.lang.reflect.Array;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,11 +29,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import org.jgrapes.core.events.Expired;
 import org.jgrapes.core.events.HandlingError;
 import org.jgrapes.core.internal.EventBase;
 
@@ -229,6 +233,53 @@ public class Event<T> extends EventBase<T> {
         return (Event<T>) super.setRequiresResult(value);
     }
 
+    /**
+     * Sets a deadline for handling the event. If the event is taken
+     * from the queue of an event pipeline after the deadline has 
+     * passed, it is not handled. Rather, it is cancelled, marked as 
+     * expired (see {@link #isExpired()}) and an {@link Expired} event
+     * is fired on the event's channels. 
+     * 
+     * Setting a deadline allows the application to shed work that
+     * nobody is waiting for any more during periods of overload. 
+     * The deadline only applies to events that have not been
+     * dequeued yet. It must be set before the event is fired.
+     *
+     * @param deadline the deadline or `null` to remove the deadline
+     * @return the object for easy chaining
+     */
+    @Override
+    public Event<T> setDeadline(Instant deadline) {
+        return (Event<T>) super.setDeadline(deadline);
+    }
+
+    /**
+     * Sets a deadline for handling the event that is relative to
+     * the time when the event is added to the queue of an event 
+     * pipeline. Apart from this, the time to live has the same
+     * effect as a deadline (see {@link #setDeadline(Instant)}).
+     * If both are set, the earlier point in time applies.
+     *
+     * @param timeToLive the time to live or `null` to remove it
+     * @return the object for easy chaining
+     */
+    @Override
+    public Event<T> setTimeToLive(Duration timeToLive) {
+        return (Event<T>) super.setTimeToLive(timeToLive);
+    }
+
+    /**
+     * Checks if the event has not been handled because its deadline 
+     * had passed (see {@link #setDeadline(Instant)}). 
+     *
+     * @return true, if the event has expired
+     */
+    @Override
+    @SuppressWarnings("PMD.UselessOverridingMethod")
+    public boolean isExpired() {
+        return super.isExpired();
+    }
+
     /**
      * Check if this event has completed. An event is completed
      * if 
@@ -285,6 +336,19 @@ public class Event<T> extends EventBase<T> {
         super.resumeHandling();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void reset() {
+        super.reset();
+        channels = new Channel[0];
+        stopped = false;
+        results = null;
+        contextData = null;
+        cancelled = false;
+    }
+
     /**
      * Can be called during the execution of an event handler to indicate
      * that the event should not be processed further. All remaining 
@@ -389,6 +453,51 @@ public class Event<T> extends EventBase<T> {
         }
     }
 
+    /**
+     * Returns a key that allows the event to be coalesced with 
+     * events fired later. Events that only signal that "something 
+     * has changed" need not be handled several times if they have 
+     * been fired several times before being handled. 
+     * 
+     * If the key is not `null` and an event of the same class with 
+     * an equal key has been fired on the same channels and is still 
+     * waiting in the same event pipeline, the newly fired event 
+     * is coalesced with the waiting event: it is not queued, and 
+     * it completes together with the waiting event. Its results 
+     * are tied to the waiting event's results (see 
+     * {@link #tieTo(Event)}). If the waiting event is cancelled, 
+     * the coalesced event is cancelled as well. 
+     * 
+     * The default implementation returns `null`, i.e. events 
+     * are not coalesced.
+     *
+     * @return the key
+     */
+    @Override
+    public Object coalesceKey() {
+        return null;
+    }
+
+    /**
+     * Invoked when an event fired later has been coalesced with 
+     * this event (see {@link #coalesceKey()}). May be overridden
+     * to merge information from the later event into this event. 
+     * The method is invoked while the event pipeline is locked and 
+     * must not block. The default implementation does nothing.
+     *
+     * @param later the event fired later
+     */
+    protected void coalesce(Event<T> later) {
+        // Default is to do nothing.
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void mergeCoalesced(EventBase<?> later) {
+        ((Event<T>) later).tieTo(this);
+        coalesce((Event<T>) later);
+    }
+
     /**
      * Waits for the event to be completed (see {@link #isDone()})
      * and returns the first (or only) result.
@@ -397,16 +506,8 @@ public class Event<T> extends EventBase<T> {
      */
     @Override
     public T get() throws InterruptedException {
-        while (true) {
-            synchronized (this) {
-                if (completed) {
-                    return results == null || results.isEmpty()
-                        ? null
-                        : results.get(0);
-                }
-                wait();
-            }
-        }
+        awaitCompletion();
+        return firstResult();
     }
 
     /**
@@ -420,20 +521,38 @@ public class Event<T> extends EventBase<T> {
     @Override
     public T get(long timeout, TimeUnit unit)
             throws InterruptedException, TimeoutException {
-        synchronized (this) {
-            if (completed) {
-                return results == null || results.isEmpty()
-                    ? null
-                    : results.get(0);
-            }
-            wait(unit.toMillis(timeout));
+        if (awaitCompletion(timeout, unit)) {
+            return firstResult();
         }
-        if (completed) {
+        throw new TimeoutException();
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} that is completed with the
+     * first (or only) result when the event has been completed (see
+     * {@link #isDone()}). Unlike {@link #get()}, this does not 
+     * block a thread while waiting for the completion. All results
+     * can be obtained from {@link #results()}, which does not block 
+     * once the event has completed.
+     * 
+     * Each invocation returns a new future, completing or cancelling it
+     * has no effect on the event. Dependent actions that are not 
+     * explicitly executed asynchronously are executed by the thread
+     * that completes the event, usually the thread of an event 
+     * pipeline. Like handlers, they must therefore not block.
+     *
+     * @return the future
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        return completion().thenApply(ignored -> firstResult());
+    }
+
+    private T firstResult() {
+        synchronized (this) {
             return results == null || results.isEmpty()
                 ? null
                 : results.get(0);
         }
-        throw new TimeoutException();
     }
 
     /**
@@ -445,15 +564,8 @@ public class Event<T> extends EventBase<T> {
      * @see Future#get()
      */
     public List<T> results() throws InterruptedException {
-        while (true) {
-            synchronized (this) {
-                if (completed) {
-                    return results == null ? Collections.emptyList()
-                        : Collections.unmodifiableList(results);
-                }
-                wait();
-            }
-        }
+        awaitCompletion();
+        return allResults();
     }
 
     /**
@@ -467,18 +579,17 @@ public class Event<T> extends EventBase<T> {
      */
     public List<T> results(long timeout, TimeUnit unit)
             throws InterruptedException, TimeoutException {
-        synchronized (this) {
-            if (completed) {
-                return results == null ? Collections.emptyList()
-                    : Collections.unmodifiableList(results);
-            }
-            wait(unit.toMillis(timeout));
+        if (awaitCompletion(timeout, unit)) {
+            return allResults();
         }
-        if (completed) {
+        throw new TimeoutException();
+    }
+
+    private List<T> allResults() {
+        synchronized (this) {
             return results == null ? Collections.emptyList()
                 : Collections.unmodifiableList(results);
         }
-        throw new TimeoutException();
     }
 
     @Override
@@ -18,6 +18,7 @@
 
 package org.jgrapes.core;
 
+import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -50,6 +51,32 @@ public interface EventPipeline extends IdInfoProvider {
      */
     <T extends Event<?>> T fire(T event, Channel... channels);
 
+    /**
+     * Adds several events to the end of the queue as if they were
+     * fired one after the other with {@link #fire(Event, Channel...)}
+     * from the calling thread. The channels are determined
+     * for each event as described there.
+     * 
+     * The events are handled in the order of the collection. Whether
+     * events fired by other threads can be handled in between
+     * depends on the implementation. The default implementation
+     * simply fires the events one by one. The pipelines obtained
+     * with {@link Manager#newEventPipeline()} add all events at once, 
+     * which is also more efficient than firing the events individually
+     * when many events are produced in bulk. Bounded pipelines (see
+     * {@link Manager#newEventPipeline(int, OverflowPolicy)}) apply
+     * their overflow policy to each event individually.
+     *
+     * @param events the events to process
+     * @param channels the channels that the events are fired on
+     */
+    default void fireAll(Collection<? extends Event<?>> events,
+            Channel... channels) {
+        for (Event<?> event : events) {
+            fire(event, channels);
+        }
+    }
+
     /**
      * Allow only the given source pipeline to fire events on this
      * pipeline.
@@ -178,4 +205,58 @@ public interface EventPipeline extends IdInfoProvider {
      * @throws InterruptedException
      */
     void awaitExhaustion() throws InterruptedException;
+
+    /**
+     * Returns the number of events handled by this pipeline whose
+     * handling is currently suspended (see 
+     * {@link Event#suspendHandling()}).
+     *
+     * @return the number of events
+     */
+    default int suspendedEvents() {
+        return 0;
+    }
+
+    /**
+     * Defines what happens when an event is fired on a pipeline
+     * with a limited capacity (see 
+     * {@link Manager#newEventPipeline(int, OverflowPolicy)}) 
+     * that has no room left.
+     * 
+     * Events fired by the handlers invoked by the pipeline itself
+     * are always accepted, because the thread that would have to
+     * make room cannot wait for itself.
+     */
+    enum OverflowPolicy {
+
+        /**
+         * The firing thread blocks until there is room in the queue.
+         * If the thread is interrupted while waiting, the event is
+         * rejected as with {@link #REJECT}.
+         */
+        BLOCK,
+
+        /**
+         * The event is cancelled without being handled. A 
+         * {@link org.jgrapes.core.events.Rejected} event is fired 
+         * on the channel of the component that created the pipeline.
+         */
+        REJECT,
+
+        /**
+         * The oldest event in the queue is cancelled without being 
+         * handled, making room for the new event. If the queue is
+         * empty because all slots are taken by events that are being
+         * handled, the firing thread blocks as with {@link #BLOCK}.
+         */
+        DROP_OLDEST,
+
+        /**
+         * The firing thread handles the event itself, together with
+         * all events fired by the event's handlers, before
+         * returning. The event is therefore handled out of sequence
+         * with respect to the events in the pipeline's queue.
+         */
+        CALLER_RUNS
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.jgrapes.core;
 
+import java.util.Optional;
+import java.util.Set;
 import org.jgrapes.core.annotation.HandlerDefinition.Evaluator;
 
 /**
@@ -40,4 +42,35 @@ public interface HandlerScope {
     @SuppressWarnings("PMD.UseVarargs")
     boolean includes(Eligible event, Eligible[] channels);
 
+    /**
+     * Returns the event criteria of this scope. If criteria are 
+     * returned, {@link #includes(Eligible, Eligible[])} may only 
+     * return `true` if the event is eligible for one of them.
+     * Class criteria must be matched by events of the class
+     * and its derived classes only.
+     * 
+     * The criteria are used to maintain an index of the handlers
+     * that avoids invoking {@link #includes(Eligible, Eligible[])}
+     * for all handlers of a component tree. If no criteria are 
+     * returned (the default), the handler is considered as a
+     * candidate for every event.
+     *
+     * @return the criteria
+     */
+    default Optional<Set<Object>> eventCriteria() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the channel criteria of this scope. If criteria are 
+     * returned, {@link #includes(Eligible, Eligible[])} may only 
+     * return `true` if one of the channels is eligible for one
+     * of them. See {@link #eventCriteria()}.
+     *
+     * @return the criteria
+     */
+    default Optional<Set<Object>> channelCriteria() {
+        return Optional.empty();
+    }
+
 }
@@ -201,6 +201,40 @@ public interface Manager extends Iterable<ComponentType> {
      */
     EventPipeline newEventPipeline(ExecutorService executorService);
 
+    /**
+     * Return a new {@link EventPipeline} that processes the added events
+     * using a thread from a thread pool and queues at most `capacity`
+     * events. If the queue is full, the given policy is applied.
+     * 
+     * The pipeline provides feedback about its queue's state by 
+     * firing {@link org.jgrapes.core.events.HighWatermark} when 
+     * three quarters of the capacity are used and 
+     * {@link org.jgrapes.core.events.LowWatermark} when the usage
+     * has dropped to one quarter again. These events are fired
+     * on the component's channel using the tree's default pipeline.
+     * Producers of large amounts of events can use them to pause and
+     * resume production, so that memory usage stays bounded without
+     * ever reaching the overflow policy.
+     *
+     * @param capacity the maximum number of queued events
+     * @param policy the policy to apply when the queue is full
+     * @return the pipeline
+     */
+    EventPipeline newEventPipeline(int capacity,
+            EventPipeline.OverflowPolicy policy);
+
+    /**
+     * Like {@link #newEventPipeline(int, EventPipeline.OverflowPolicy)},
+     * but uses threads from the given executor service.
+     *
+     * @param executorService the executor service
+     * @param capacity the maximum number of queued events
+     * @param policy the policy to apply when the queue is full
+     * @return the pipeline
+     */
+    EventPipeline newEventPipeline(ExecutorService executorService,
+            int capacity, EventPipeline.OverflowPolicy policy);
+
     /**
      * Register the managed component as a running generator. 
      */
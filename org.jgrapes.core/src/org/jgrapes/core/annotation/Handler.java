@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jgrapes.core.Channel;
@@ -234,7 +235,9 @@ public @interface Handler {
 
     /**
      * Specifies a priority. The value is used to sort handlers.
-     * Handlers with higher priority are invoked first.
+     * Handlers with higher priority are invoked first. Handlers
+     * with the same priority are invoked in the order of a 
+     * depth-first traversal of the component tree.
      * 
      * @return the priority
      */
@@ -521,6 +524,17 @@ public @interface Handler {
 
             }
 
+            @Override
+            public Optional<Set<Object>> eventCriteria() {
+                return Optional.of(Collections.unmodifiableSet(eventCriteria));
+            }
+
+            @Override
+            public Optional<Set<Object>> channelCriteria() {
+                return Optional
+                    .of(Collections.unmodifiableSet(channelCriteria));
+            }
+
             @Override
             @SuppressWarnings("PMD.CognitiveComplexity")
             public boolean includes(Eligible event, Eligible[] channels) {
@@ -0,0 +1,135 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.annotation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implemented by the handler tables that the JGrapes annotation
+ * processor (module `org.jgrapes.core.processor`) generates for 
+ * component classes at build time.
+ * 
+ * A handler table lists the methods of a component class that are
+ * annotated with a handler annotation (i.e. an annotation that
+ * is annotated with {@link HandlerDefinition}), including the 
+ * inherited methods. For each method, it provides an {@link Invoker} 
+ * that calls the method directly.
+ * 
+ * The framework looks for a class with the component class' 
+ * binary name with {@link #CLASS_NAME_SUFFIX} appended.
+ * If it exists, the framework obtains the handler methods from the 
+ * table and uses the invokers instead of looking up the methods
+ * by reflection and invoking them through method handles.
+ * This reduces the cost of creating component instances. If no
+ * table exists, the framework falls back to reflection. It also
+ * does so if an entry doesn't denote a method of the class that is 
+ * annotated as handler, or if the table doesn't list a handler
+ * method that the class inherits. This happens if the table has
+ * been generated when compiling against a different version of a
+ * super class.
+ */
+public interface HandlerTable {
+
+    /**
+     * The suffix appended to the binary name of a component class
+     * to obtain the name of its handler table.
+     */
+    String CLASS_NAME_SUFFIX = "_HandlerTable";
+
+    /**
+     * Invokes a handler method.
+     */
+    @FunctionalInterface
+    interface Invoker {
+
+        /**
+         * Invokes the handler method on the given component. 
+         * Parameters not declared by the method are ignored.
+         *
+         * @param component the component
+         * @param event the event
+         * @param channel the channel
+         * @throws Throwable any throwable thrown by the handler method
+         */
+        @SuppressWarnings({ "PMD.SignatureDeclareThrowsException",
+            "PMD.AvoidUncheckedExceptionsInSignatures" })
+        void invoke(Object component, Object event, Object channel)
+                throws Throwable;
+    }
+
+    /**
+     * Describes a handler method.
+     */
+    final class Entry {
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+        private final Invoker invoker;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param methodName the method's name
+         * @param parameterTypes the method's parameter types
+         * @param invoker the invoker
+         */
+        public Entry(String methodName, Class<?>[] parameterTypes,
+                Invoker invoker) {
+            this.methodName = methodName;
+            this.parameterTypes
+                = Arrays.copyOf(parameterTypes, parameterTypes.length);
+            this.invoker = invoker;
+        }
+
+        /**
+         * Returns the method's name.
+         *
+         * @return the name
+         */
+        public String methodName() {
+            return methodName;
+        }
+
+        /**
+         * Returns the method's parameter types.
+         *
+         * @return the parameter types
+         */
+        public Class<?>[] parameterTypes() {
+            return Arrays.copyOf(parameterTypes, parameterTypes.length);
+        }
+
+        /**
+         * Returns the invoker.
+         *
+         * @return the invoker
+         */
+        public Invoker invoker() {
+            return invoker;
+        }
+    }
+
+    /**
+     * Returns the entries of the table.
+     *
+     * @return the entries
+     */
+    List<Entry> entries();
+}
@@ -0,0 +1,49 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks an event type as urgent. Event pipelines
+ * queue urgent events in a separate lane that is served before
+ * the lane with all other events. Urgent events therefore overtake
+ * events of other types that have been fired before them.
+ * 
+ * The order of urgent events among themselves is preserved, as is the
+ * order of the other events. Only event types that carry control
+ * information which is independent of the data flow, such as a
+ * request to release resources, should be marked as urgent. An
+ * event type that must be handled after the events fired before
+ * it (e.g. a request to close a connection after sending the 
+ * queued output) must not be marked as urgent.
+ * 
+ * The annotation is inherited by derived event types.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Urgent {
+}
@@ -0,0 +1,68 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.events;
+
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+
+/**
+ * Signals that an event has not been handled because its deadline
+ * had passed when it was taken from the queue (see 
+ * {@link Event#setDeadline(java.time.Instant)}). The expired event 
+ * has been cancelled. The signal is fired on the channels of the
+ * expired event, thus allowing e.g. a server to inform its client.
+ */
+public class Expired extends Event<Void> {
+
+    private final Event<?> event;
+
+    /**
+     * Creates a new event.
+     *
+     * @param event the expired event
+     * @param channels the channels
+     */
+    public Expired(Event<?> event, Channel... channels) {
+        super(channels);
+        this.event = event;
+    }
+
+    /**
+     * Returns the expired event.
+     *
+     * @return the event
+     */
+    public Event<?> event() {
+        return event;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(50);
+        builder.append(Components.objectName(this))
+            .append(" [event=").append(event).append(']');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.events;
+
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+
+/**
+ * Signals that the number of events queued by a pipeline with
+ * limited capacity has reached the high watermark, i.e. three quarters
+ * of the capacity. Producers of events should pause until
+ * they receive the matching {@link LowWatermark} event.
+ *
+ * @see org.jgrapes.core.Manager#newEventPipeline(int,
+ * EventPipeline.OverflowPolicy)
+ */
+public class HighWatermark extends Event<Void> {
+
+    private final EventPipeline pipeline;
+    private final int queued;
+
+    /**
+     * Creates a new event.
+     *
+     * @param pipeline the pipeline
+     * @param queued the number of queued events
+     * @param channels the channels
+     */
+    public HighWatermark(EventPipeline pipeline, int queued,
+            Channel... channels) {
+        super(channels);
+        this.pipeline = pipeline;
+        this.queued = queued;
+    }
+
+    /**
+     * Returns the pipeline.
+     *
+     * @return the pipeline
+     */
+    public EventPipeline pipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Returns the number of events queued when the event was created.
+     *
+     * @return the number of events
+     */
+    public int queued() {
+        return queued;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(50);
+        builder.append(Components.objectName(this))
+            .append(" [pipeline=").append(Components.objectName(pipeline))
+            .append(", queued=").append(queued).append(']');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.events;
+
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+
+/**
+ * Signals that the number of events queued by a pipeline with
+ * limited capacity has dropped to the low watermark, i.e. one quarter
+ * of the capacity, after having reached the high watermark (see
+ * {@link HighWatermark}). Producers of events may resume.
+ */
+public class LowWatermark extends Event<Void> {
+
+    private final EventPipeline pipeline;
+    private final int queued;
+
+    /**
+     * Creates a new event.
+     *
+     * @param pipeline the pipeline
+     * @param queued the number of queued events
+     * @param channels the channels
+     */
+    public LowWatermark(EventPipeline pipeline, int queued,
+            Channel... channels) {
+        super(channels);
+        this.pipeline = pipeline;
+        this.queued = queued;
+    }
+
+    /**
+     * Returns the pipeline.
+     *
+     * @return the pipeline
+     */
+    public EventPipeline pipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Returns the number of events queued when the event was created.
+     *
+     * @return the number of events
+     */
+    public int queued() {
+        return queued;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(50);
+        builder.append(Components.objectName(this))
+            .append(" [pipeline=").append(Components.objectName(pipeline))
+            .append(", queued=").append(queued).append(']');
+        return builder.toString();
+    }
+}
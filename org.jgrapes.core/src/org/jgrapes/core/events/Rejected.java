@@ -0,0 +1,82 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.events;
+
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+
+/**
+ * Signals that an event has not been accepted by a pipeline with
+ * limited capacity because its queue was full (see 
+ * {@link EventPipeline.OverflowPolicy#REJECT}). The rejected event
+ * has been cancelled.
+ */
+public class Rejected extends Event<Void> {
+
+    private final EventPipeline pipeline;
+    private final Event<?> event;
+
+    /**
+     * Creates a new event.
+     *
+     * @param pipeline the pipeline that has rejected the event
+     * @param event the rejected event
+     * @param channels the channels
+     */
+    public Rejected(EventPipeline pipeline, Event<?> event,
+            Channel... channels) {
+        super(channels);
+        this.pipeline = pipeline;
+        this.event = event;
+    }
+
+    /**
+     * Returns the pipeline that has rejected the event.
+     *
+     * @return the pipeline
+     */
+    public EventPipeline pipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Returns the rejected event.
+     *
+     * @return the event
+     */
+    public Event<?> event() {
+        return event;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(50);
+        builder.append(Components.objectName(this))
+            .append(" [pipeline=").append(Components.objectName(pipeline))
+            .append(", event=").append(event).append(']');
+        return builder.toString();
+    }
+}
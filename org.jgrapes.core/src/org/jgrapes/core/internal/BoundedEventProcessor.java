@@ -0,0 +1,284 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.internal;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.EventPipeline.OverflowPolicy;
+import org.jgrapes.core.events.HighWatermark;
+import org.jgrapes.core.events.LowWatermark;
+import org.jgrapes.core.events.Rejected;
+
+/**
+ * An {@link EventProcessor} that queues a limited number of events.
+ *
+ * The number of queued events is tracked with a counter that is
+ * incremented before an event is added to the queue and decremented
+ * after it has been removed by the processing thread. The counter
+ * is therefore never less than the actual size of the queue.
+ * Events that are dropped from the queue (see
+ * {@link OverflowPolicy#DROP_OLDEST}) pass their slot on to the
+ * event that replaces them.
+ */
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+/* default */ class BoundedEventProcessor extends EventProcessor {
+
+    private final int capacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final OverflowPolicy policy;
+    private final Channel channel;
+    private final EventPipeline pipeline;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean congested = new AtomicBoolean();
+    // Using a lock (instead of synchronized) avoids pinning virtual threads
+    private final ReentrantLock spaceLock = new ReentrantLock();
+    private final Condition spaceAvailable = spaceLock.newCondition();
+    // Only modified with spaceLock held
+    private volatile int blocked;
+
+    /**
+     * Instantiates a new bounded event processor.
+     *
+     * @param tree the tree
+     * @param executorService the executor service
+     * @param capacity the capacity
+     * @param policy the policy
+     * @param channel the channel used as default for the pipeline
+     * and for firing the notifications
+     */
+    /* default */ BoundedEventProcessor(ComponentTree tree,
+            ExecutorService executorService, int capacity,
+            OverflowPolicy policy, Channel channel) {
+        super(tree, executorService);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+        highWatermark = Math.max(1, capacity * 3 / 4);
+        lowWatermark = capacity / 4;
+        this.policy = policy;
+        this.channel = channel;
+        pipeline = new CheckingPipelineFilter(tree, this, channel);
+    }
+
+    /**
+     * Returns the pipeline to be used by components.
+     *
+     * @return the event pipeline
+     */
+    /* default */ EventPipeline pipeline() {
+        return pipeline;
+    }
+
+    @Override
+    public <T extends Event<?>> T add(T event, Channel... channels) {
+        if (coalesce(event, channels)) {
+            // Doesn't need a slot
+            return event;
+        }
+        if (isProcessingThread()) {
+            // Must not block or reject, nobody else would make room
+            reserved(queued.incrementAndGet());
+            return enqueue(event, channels);
+        }
+        if (reserve()) {
+            return enqueue(event, channels);
+        }
+        switch (policy) {
+        case BLOCK:
+            if (awaitSpace()) {
+                return enqueue(event, channels);
+            }
+            reject(event);
+            break;
+        case DROP_OLDEST:
+            if (dropOldest()) {
+                return enqueue(event, channels);
+            }
+            reject(event);
+            break;
+        case CALLER_RUNS:
+            runInCaller(event, channels);
+            break;
+        default:
+            reject(event);
+            break;
+        }
+        return event;
+    }
+
+    /**
+     * Adds the events one by one, applying the policy to each event.
+     * Unlike with the unbounded processor, events from other threads
+     * may therefore be added in between.
+     *
+     * @param events the events
+     */
+    @Override
+    public void addAll(Collection<? extends Event<?>> events) {
+        for (Event<?> event : events) {
+            add(event, event.channels());
+        }
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = queued.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                reserved(current + 1);
+                return true;
+            }
+        }
+    }
+
+    private void reserved(int current) {
+        if (current >= highWatermark && congested.compareAndSet(false, true)) {
+            fireNotification(new HighWatermark(pipeline, current, channel));
+        }
+    }
+
+    @Override
+    /* default */ void dequeued() {
+        int current = queued.decrementAndGet();
+        if (blocked > 0) {
+            spaceLock.lock();
+            try {
+                spaceAvailable.signal();
+            } finally {
+                spaceLock.unlock();
+            }
+        }
+        if (current <= lowWatermark && congested.compareAndSet(true, false)) {
+            fireNotification(new LowWatermark(pipeline, current, channel));
+        }
+    }
+
+    private boolean awaitSpace() {
+        spaceLock.lock();
+        try {
+            // Announce before checking, else dequeued might miss us.
+            blocked += 1;
+            try {
+                while (!reserve()) {
+                    spaceAvailable.await();
+                }
+                return true;
+            } finally {
+                blocked -= 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            spaceLock.unlock();
+        }
+    }
+
+    private boolean dropOldest() {
+        EventChannelsTuple oldest;
+        spaceLock.lock();
+        try {
+            // Announce before checking, else dequeued might miss us.
+            blocked += 1;
+            try {
+                while (true) {
+                    if (reserve()) {
+                        return true;
+                    }
+                    oldest = queue.poll();
+                    if (oldest == null) {
+                        oldest = urgent.poll();
+                    }
+                    if (oldest != null) {
+                        break;
+                    }
+                    // The slots are held by events that are dispatched
+                    // inline or that have been reserved by others but
+                    // not added yet. Wait until they have been handled.
+                    spaceAvailable.await();
+                }
+            } finally {
+                blocked -= 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            spaceLock.unlock();
+        }
+        removed(oldest);
+        // The new event takes over the dropped event's slot
+        discard(oldest.event);
+        return true;
+    }
+
+    private void reject(Event<?> event) {
+        ((EventBase<?>) event).processedBy(this); // NOPMD (cast)
+        discard(event);
+        fireNotification(new Rejected(pipeline, event, channel));
+    }
+
+    private static void discard(EventBase<?> event) {
+        event.cancel(false);
+        // Handled without handlers, allows e.g. buffers to be released
+        event.handled();
+        event.decrementOpen();
+    }
+
+    /**
+     * Handles the event with a new processor in the calling thread.
+     * The calling thread may itself be handling an event, so its
+     * state must be restored afterwards.
+     */
+    private void runInCaller(Event<?> event, Channel... channels) {
+        EventBase<?> parent = newEventsParent.get();
+        InternalEventPipeline dispatching = tree().dispatchingPipeline();
+        InternalEventPipeline current = ComponentTree.currentPipeline();
+        try {
+            new EventProcessor(tree(), executorService())
+                .runInCallingThread(event, channels);
+        } finally {
+            newEventsParent.set(parent);
+            tree().setDispatchingPipeline(dispatching);
+            ComponentTree.setCurrentPipeline(current);
+        }
+    }
+
+    private void fireNotification(Event<?> notification) {
+        // The notification is not caused by the event being handled
+        EventBase<?> parent = newEventsParent.get();
+        newEventsParent.set(null);
+        try {
+            tree().fire(notification, new Channel[] { channel });
+        } finally {
+            newEventsParent.set(parent);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.jgrapes.core.internal;
 
 import java.lang.ref.WeakReference;
+import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -93,41 +94,67 @@ class CheckingPipelineFilter
     }
 
     @Override
+    public <T extends Event<?>> T fire(T event, Channel... channels) {
+        if (!sourceAllowed(event)) {
+            return event;
+        }
+        Channel[] effective = effectiveChannels(event, channels);
+        event.setChannels(effective);
+        return sink.add(event, effective);
+    }
+
+    @Override
+    public void fireAll(Collection<? extends Event<?>> events,
+            Channel... channels) {
+        if (!sourceAllowed(events)) {
+            return;
+        }
+        for (Event<?> event : events) {
+            event.setChannels(effectiveChannels(event, channels));
+        }
+        sink.addAll(events);
+    }
+
     @SuppressWarnings({ "PMD.GuardLogStatement",
         "PMD.AvoidDeeplyNestedIfStmts" })
-    public <T extends Event<?>> T fire(T event, Channel... channels) {
-        if (allowedSourceRef != null) {
-            boolean allowed = allowNext.get() != null && allowNext.get();
-            allowNext.set(null);
-            if (!allowed // i.e. if not allowed anyway...
-                && (allowedSourceRef.get() == null
-                    || allowedSourceRef.get() // NOPMD (comparison)
-                        .wrapped() != componentTree.dispatchingPipeline())) {
-                CoreUtils.fireRestrictionLogger.log(Level.SEVERE,
-                    Components.objectName(componentTree.dispatchingPipeline())
-                        + " cannot add "
-                        + event.toString() + " to pipeline "
-                        + Components.objectName(this.wrapped())
-                        + " (accepts only from "
-                        + Components
-                            .objectName(allowedSourceRef.get().wrapped())
-                        + ").",
-                    new IllegalArgumentException());
-                return event;
-            }
+    private boolean sourceAllowed(Object added) {
+        if (allowedSourceRef == null) {
+            return true;
         }
-        if (channels.length == 0) {
-            channels = event.channels();
-            if (channels.length == 0) {
-                if (channel == null) {
-                    channels = new Channel[] { Channel.BROADCAST };
-                } else {
-                    channels = new Channel[] { channel };
-                }
-            }
+        boolean allowed = allowNext.get() != null && allowNext.get();
+        allowNext.set(null);
+        if (!allowed // i.e. if not allowed anyway...
+            && (allowedSourceRef.get() == null
+                || allowedSourceRef.get() // NOPMD (comparison)
+                    .wrapped() != componentTree.dispatchingPipeline())) {
+            CoreUtils.fireRestrictionLogger.log(Level.SEVERE,
+                Components.objectName(componentTree.dispatchingPipeline())
+                    + " cannot add "
+                    + added.toString() + " to pipeline "
+                    + Components.objectName(this.wrapped())
+                    + " (accepts only from "
+                    + Components
+                        .objectName(allowedSourceRef.get().wrapped())
+                    + ").",
+                new IllegalArgumentException());
+            return false;
         }
-        event.setChannels(channels);
-        return sink.add(event, channels);
+        return true;
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    private Channel[] effectiveChannels(Event<?> event, Channel[] channels) {
+        if (channels.length > 0) {
+            return channels;
+        }
+        Channel[] eventChannels = event.channels();
+        if (eventChannels.length > 0) {
+            return eventChannels;
+        }
+        if (channel == null) {
+            return new Channel[] { Channel.BROADCAST };
+        }
+        return new Channel[] { channel };
     }
 
     /*
@@ -177,6 +204,11 @@ class CheckingPipelineFilter
         sink.awaitExhaustion();
     }
 
+    @Override
+    public int suspendedEvents() {
+        return sink.suspendedEvents();
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -18,10 +18,13 @@
 
 package org.jgrapes.core.internal;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jgrapes.core.Channel;
@@ -48,8 +51,10 @@ class ComponentTree {
             + ".handlerTracking");
 
     private final ComponentVertex root;
-    @SuppressWarnings({ "PMD.UseConcurrentHashMap", "PMD.LooseCoupling" })
-    private final Map<CacheKey, HandlerList> handlerCache = new HashMap<>();
+    /** Placeholder for a `null` criterion in the handler cache. */
+    private static final Object NULL_CRITERION = new Object();
+    private final CacheNode handlerCache = new CacheNode();
+    private final HandlerIndex handlerIndex;
     private InternalEventPipeline eventPipeline;
     private static HandlerReference fallbackErrorHandler;
     private static HandlerReference actionEventHandler;
@@ -137,6 +142,8 @@ class ComponentTree {
     /* default */ ComponentTree(ComponentVertex root) {
         super();
         this.root = root;
+        handlerIndex = new HandlerIndex(root);
+        root.forEachHandler(handlerIndex::add);
     }
 
     /* default */ ComponentVertex root() {
@@ -187,6 +194,17 @@ class ComponentTree {
         return currentPipeline.get();
     }
 
+    /**
+     * Sets the pipeline associated with the currently executing thread.
+     * Only needed to restore the state after a nested dispatch.
+     *
+     * @param pipeline the pipeline
+     */
+    /* default */ static void setCurrentPipeline(
+            InternalEventPipeline pipeline) {
+        currentPipeline.set(pipeline);
+    }
+
     /**
      * Adds the event to the tree's event pipeline.
      *
@@ -218,25 +236,24 @@ class ComponentTree {
     @SuppressWarnings({ "PMD.UseVarargs", "PMD.LooseCoupling" })
     /* default */ HandlerList getEventHandlers(
             EventBase<?> event, Channel[] channels) {
-        CacheKey key = new CacheKey(event, channels);
-        // Several event processors may call dispatch and update the cache
-        // concurrently, and the cache may be cleared by a concurrent call
-        // to detach.
-        HandlerList hdlrs = handlerCache.get(key);
-        if (hdlrs != null) {
-            return hdlrs;
+        // Several event processors may call dispatch concurrently.
+        // Entries are only added or removed while holding the lock,
+        // so lookups need no synchronization.
+        CacheEntry entry = cachedEntry(event, channels);
+        if (entry != null) {
+            return entry.handlers;
         }
         // Don't allow tree modifications while collecting
         synchronized (this) {
             // Optimization for highly concurrent first-time access
             // with the same key: another thread may have created the
             // handlers while this one was waiting for the lock.
-            hdlrs = handlerCache.get(key);
-            if (hdlrs != null) {
-                return hdlrs;
+            entry = cachedEntry(event, channels);
+            if (entry != null) {
+                return entry.handlers;
             }
-            hdlrs = new HandlerList();
-            root.collectHandlers(hdlrs, event, channels);
+            HandlerList hdlrs = new HandlerList();
+            handlerIndex.collect(hdlrs, event, channels);
             if (hdlrs.isEmpty()) {
                 // Make sure that errors are reported.
                 if (event instanceof Error) {
@@ -251,83 +268,219 @@ class ComponentTree {
                     }
                 }
             }
+            // Stable, handlers with the same priority stay in tree order
             Collections.sort(hdlrs);
-            handlerCache.put(key, hdlrs);
+            CacheNode node = handlerCache
+                .addSuccessor(criterion(event.defaultCriterion()));
+            for (int i = 0; i < channels.length; i++) {
+                node = node
+                    .addSuccessor(criterion(channels[i].defaultCriterion()));
+            }
+            node.entry = new CacheEntry(hdlrs, event, channels);
+            return hdlrs;
         }
-        return hdlrs;
     }
 
-    /* default */ void clearHandlerCache() {
-        synchronized (this) {
-            handlerCache.clear();
+    /**
+     * Looks up the cache entry for the given event and channels. The
+     * cache is a tree with a level for the event's criterion and a
+     * level for each channel's criterion. Unlike a combined key, 
+     * walking this tree does not allocate any objects.
+     *
+     * @param event the event
+     * @param channels the channels
+     * @return the cache entry or `null`
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    private CacheEntry cachedEntry(EventBase<?> event, Channel[] channels) {
+        CacheNode node
+            = handlerCache.successor(criterion(event.defaultCriterion()));
+        for (int i = 0; node != null && i < channels.length; i++) {
+            node = node.successor(criterion(channels[i].defaultCriterion()));
         }
+        return node == null ? null : node.entry;
+    }
+
+    private static Object criterion(Object criterion) {
+        return criterion == null ? NULL_CRITERION : criterion;
+    }
+
+    /**
+     * Invalidates the cached handler lists that are affected by
+     * attaching or detaching the given subtree. Must be invoked
+     * while holding the lock on this tree, after the subtree has
+     * been attached or before it is detached.
+     * 
+     * Entries are removed if a handler from the subtree may handle
+     * the event and channels that the entry has been created for
+     * (see {@link CacheEntry#affectedBy(HandlerReference)}).
+     *
+     * @param subtree the root of the subtree
+     */
+    /* default */ void invalidateHandlers(ComponentVertex subtree) {
+        List<HandlerReference> changed = new ArrayList<>();
+        subtree.forEachHandler(changed::add);
+        if (changed.isEmpty()) {
+            return;
+        }
+        handlerCache.invalidate(entry -> {
+            for (HandlerReference handler : changed) {
+                if (entry.affectedBy(handler)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Adds the handlers of the given subtree to the index of this
+     * tree's handlers. Must be invoked while holding the lock on this 
+     * tree when the subtree is attached.
+     *
+     * @param subtree the subtree
+     */
+    /* default */ void indexHandlers(ComponentVertex subtree) {
+        subtree.forEachHandler(handlerIndex::add);
+    }
+
+    /**
+     * Removes the handlers of the given subtree from the index of this
+     * tree's handlers. Must be invoked while holding the lock on this 
+     * tree when the subtree is detached.
+     *
+     * @param subtree the subtree
+     */
+    /* default */ void unindexHandlers(ComponentVertex subtree) {
+        subtree.forEachHandler(handlerIndex::remove);
+    }
+
+    /**
+     * Adds a handler that has been added to a component of this tree
+     * after the component has been attached. Must be invoked while 
+     * holding the lock on this tree. Invalidates the cached handler 
+     * lists that are affected.
+     *
+     * @param handler the handler
+     */
+    /* default */ void addHandler(HandlerReference handler) {
+        handlerIndex.add(handler);
+        handlerCache.invalidate(entry -> entry.affectedBy(handler));
     }
 
     /**
-     * An artificial key for handler caching.
+     * A node in the tree that implements the handler cache. The node
+     * reached by following the event's criterion and the channels'
+     * criteria holds the cache entry. Nodes are added and entries are
+     * set or removed while holding the lock on the component tree only.
      */
-    private static class CacheKey {
-        private final Object eventMatchValue;
-        private final Object[] channelMatchValues;
+    private static class CacheNode {
+        private volatile Map<Object, CacheNode> successors;
+        public volatile CacheEntry entry;
 
         /**
-         * Instantiates a new cache key.
+         * Returns the successor for the given criterion.
          *
-         * @param event the event
-         * @param channels the channels
+         * @param criterion the criterion
+         * @return the successor or `null`
          */
-        public CacheKey(EventBase<?> event, Channel... channels) {
-            eventMatchValue = event.defaultCriterion();
-            channelMatchValues = new Object[channels.length];
-            for (int i = 0; i < channels.length; i++) {
-                channelMatchValues[i] = channels[i].defaultCriterion();
-            }
+        public CacheNode successor(Object criterion) {
+            Map<Object, CacheNode> succs = successors;
+            return succs == null ? null : succs.get(criterion);
         }
 
-        /*
-         * (non-Javadoc)
-         * 
-         * @see java.lang.Object#hashCode()
+        /**
+         * Returns the successor for the given criterion, creating
+         * it if necessary.
+         *
+         * @param criterion the criterion
+         * @return the successor
          */
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + Arrays.hashCode(channelMatchValues);
-            result = prime * result + ((eventMatchValue == null) ? 0
-                : eventMatchValue.hashCode());
-            return result;
+        public CacheNode addSuccessor(Object criterion) {
+            if (successors == null) {
+                successors = new ConcurrentHashMap<>();
+            }
+            return successors.computeIfAbsent(criterion,
+                key -> new CacheNode());
         }
 
-        /*
-         * (non-Javadoc)
-         * 
-         * @see java.lang.Object#equals(java.lang.Object)
+        /**
+         * Removes all entries from this node and its successors that
+         * are affected.
+         *
+         * @param affected tests if an entry is affected
+         * @return true, if the node has become empty
          */
-        @Override
-        @SuppressWarnings("PMD.SimplifyBooleanReturns")
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
+        public boolean invalidate(Predicate<CacheEntry> affected) {
+            CacheEntry cached = entry;
+            if (cached != null && affected.test(cached)) {
+                entry = null;
             }
-            CacheKey other = (CacheKey) obj;
-            if (eventMatchValue == null) {
-                if (other.eventMatchValue != null) {
-                    return false;
+            Map<Object, CacheNode> succs = successors;
+            if (succs != null) {
+                for (Iterator<CacheNode> itr = succs.values().iterator();
+                        itr.hasNext();) {
+                    if (itr.next().invalidate(affected)) {
+                        itr.remove();
+                    }
                 }
-            } else if (!eventMatchValue.equals(other.eventMatchValue)) {
-                return false;
             }
-            if (!Arrays.equals(channelMatchValues, other.channelMatchValues)) {
-                return false;
+            return entry == null && (succs == null || succs.isEmpty());
+        }
+    }
+
+    /**
+     * A cached handler list together with the information that
+     * is required to check if it is affected by changes of the tree.
+     * The cache must neither keep the event and channels from being 
+     * reclaimed nor be affected by events being reused. The entry
+     * therefore keeps only the event's class and the channels' 
+     * criteria.
+     */
+    private static class CacheEntry {
+        @SuppressWarnings("PMD.LooseCoupling")
+        public final HandlerList handlers;
+        private final Class<?> eventType;
+        private final Object[] channelCriteria;
+        private final boolean[] matchByCriterion;
+
+        /**
+         * Instantiates a new cache entry.
+         *
+         * @param handlers the handlers
+         * @param event the event
+         * @param channels the channels
+         */
+        @SuppressWarnings({ "PMD.LooseCoupling", "PMD.UseVarargs" })
+        public CacheEntry(HandlerList handlers, EventBase<?> event,
+                Channel[] channels) {
+            this.handlers = handlers;
+            eventType = event.getClass();
+            channelCriteria = new Object[channels.length];
+            matchByCriterion = new boolean[channels.length];
+            for (int i = 0; i < channels.length; i++) {
+                channelCriteria[i] = channels[i].defaultCriterion();
+                matchByCriterion[i]
+                    = HandlerIndex.matchesByDefaultCriterion(channels[i]);
             }
-            return true;
+        }
+
+        /**
+         * Checks if the given handler may handle the event and channels
+         * that this entry has been created for. The check uses the
+         * criteria provided by the handler's scope only (see
+         * {@link HandlerScope#eventCriteria()} and
+         * {@link HandlerScope#channelCriteria()}), because the event
+         * and channels are no longer available. If the criteria are
+         * insufficient for deciding, the entry is considered to be
+         * affected.
+         *
+         * @param handler the handler
+         * @return true, if affected
+         */
+        public boolean affectedBy(HandlerReference handler) {
+            return HandlerIndex.mayHandle(handler.filter, eventType,
+                channelCriteria, matchByCriterion);
         }
     }
 
@@ -18,7 +18,6 @@
 
 package org.jgrapes.core.internal;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -29,6 +28,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Stack;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.ComponentType;
 import org.jgrapes.core.Components;
@@ -36,7 +36,6 @@ import org.jgrapes.core.Event;
 import org.jgrapes.core.EventPipeline;
 import org.jgrapes.core.HandlerScope;
 import org.jgrapes.core.Manager;
-import org.jgrapes.core.annotation.HandlerDefinition;
 import org.jgrapes.core.annotation.HandlerDefinition.ChannelReplacements;
 import org.jgrapes.core.events.Attached;
 import org.jgrapes.core.events.Detached;
@@ -97,34 +96,20 @@ public abstract class ComponentVertex implements Manager, Channel {
      */
     protected void initComponentsHandlers() {
         handlers = new ArrayList<>();
-        // Have a look at all methods.
-        for (Method m : component().getClass().getMethods()) {
-            maybeAddHandler(m, channelReplacements);
-        }
-        handlers = Collections.synchronizedList(handlers);
-    }
-
-    @SuppressWarnings("PMD.LooseCoupling")
-    private void maybeAddHandler(
-            Method method, ChannelReplacements channelReplacements) {
-        for (Annotation annotation : method.getDeclaredAnnotations()) {
-            Class<?> annoType = annotation.annotationType();
-            HandlerDefinition hda = annoType.getAnnotation(
-                HandlerDefinition.class);
-            if (hda == null) {
-                continue;
-            }
-            HandlerDefinition.Evaluator evaluator
-                = CoreUtils.definitionEvaluator(hda);
-            HandlerScope scope = evaluator.scope(component(), method,
-                channelReplacements);
+        // The handler methods are evaluated once per class.
+        for (HandlerMethod handler : HandlerMethod.forClass(
+            component().getClass())) {
+            HandlerScope scope = handler.evaluator().scope(component(),
+                handler.method(), channelReplacements);
             if (scope == null) {
                 continue;
             }
-            handlers.add(HandlerReference.newRef(
-                component(), method, evaluator.priority(annotation),
-                scope));
+            handlers.add(HandlerReference.newRef(component(),
+                handler.method(),
+                handler.evaluator().priority(handler.annotation()), scope,
+                handler.invoker()));
         }
+        handlers = Collections.synchronizedList(handlers);
     }
 
     /*
@@ -308,7 +293,8 @@ public abstract class ComponentVertex implements Manager, Channel {
                             tree.mergeEvents(childTree);
                         }
                     }
-                    tree.clearHandlerCache();
+                    tree.indexHandlers(childNode);
+                    tree.invalidateHandlers(childNode);
                 }
             }
             Channel parentChan = channel();
@@ -351,8 +337,9 @@ public abstract class ComponentVertex implements Manager, Channel {
                                 + " a Start event has been fired on it.");
                     }
                     synchronized (oldParent) {
+                        tree.invalidateHandlers(this);
+                        tree.unindexHandlers(this);
                         parent.children.remove(this);
-                        parent.tree.clearHandlerCache();
                         parent = null;
                     }
                     ComponentTree newTree = new ComponentTree(this);
@@ -499,8 +486,28 @@ public abstract class ComponentVertex implements Manager, Channel {
 
     @Override
     public void addHandler(Method method, HandlerScope scope, int priority) {
-        handlers.add(HandlerReference.newRef(component(),
-            method, priority, scope));
+        HandlerReference handler
+            = HandlerReference.newRef(component(), method, priority, scope);
+        while (true) {
+            ComponentTree current;
+            synchronized (this) {
+                current = tree;
+                if (current == null) {
+                    // Indexed when the tree is created
+                    handlers.add(handler);
+                    return;
+                }
+            }
+            synchronized (current) {
+                // The component may have been moved to another tree
+                // while waiting for the lock.
+                if (current == tree) {
+                    handlers.add(handler);
+                    current.addHandler(handler);
+                    return;
+                }
+            }
+        }
     }
 
     /*
@@ -544,6 +551,21 @@ public abstract class ComponentVertex implements Manager, Channel {
         }
     }
 
+    /**
+     * Invokes the consumer for all handlers of this component
+     * and its children, in the order of a depth-first traversal.
+     *
+     * @param consumer the consumer
+     */
+    /* default */ void forEachHandler(Consumer<HandlerReference> consumer) {
+        synchronized (handlers) {
+            handlers.forEach(consumer);
+        }
+        for (ComponentVertex child : children) {
+            child.forEachHandler(consumer);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -578,6 +600,32 @@ public abstract class ComponentVertex implements Manager, Channel {
             new EventProcessor(tree(), executorService), channel());
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.jgrapes.core.Manager#newEventPipeline(int,
+     * org.jgrapes.core.EventPipeline.OverflowPolicy)
+     */
+    @Override
+    public EventPipeline newEventPipeline(int capacity,
+            EventPipeline.OverflowPolicy policy) {
+        return newEventPipeline(Components.defaultExecutorService(),
+            capacity, policy);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.jgrapes.core.Manager#newEventPipeline(java.util.concurrent.
+     * ExecutorService, int, org.jgrapes.core.EventPipeline.OverflowPolicy)
+     */
+    @Override
+    public EventPipeline newEventPipeline(ExecutorService executorService,
+            int capacity, EventPipeline.OverflowPolicy policy) {
+        return new BoundedEventProcessor(tree(), executorService, capacity,
+            policy, channel()).pipeline();
+    }
+
     /**
      * If a name has been set for this component 
      * (see {@link Manager#setName(String)}), return the name,
@@ -44,6 +44,11 @@ public final class CoreUtils {
         = Logger.getLogger(CoreUtils.class.getPackage().getName()
             + ".fireRestriction");
 
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    /* default */ static final Logger blockingLogger
+        = Logger.getLogger(CoreUtils.class.getPackage().getName()
+            + ".blocking");
+
     /** Handler factory cache. */
     private static Map<Class<? extends HandlerDefinition.Evaluator>,
             HandlerDefinition.Evaluator> definitionEvaluators
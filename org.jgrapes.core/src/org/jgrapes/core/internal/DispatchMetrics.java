@@ -0,0 +1,601 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.internal;
+
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import org.jgrapes.core.Components;
+
+/**
+ * Collects statistics about the dispatching of events. The statistics
+ * comprise the execution times of the handlers (per handler and
+ * event class), the time that events wait in the queue of an event
+ * pipeline, the time between firing an event and its completion
+ * and the time that expired events (see
+ * {@link org.jgrapes.core.Event#setDeadline(java.time.Instant)})
+ * have been waiting in a queue (all per event class).
+ *
+ * Collecting statistics is disabled by default. It can be enabled
+ * by starting the JVM with property `-Djgrapes.dispatchMetrics=true`
+ * or with the {@link DispatchMetricsMXBean}. When disabled, the only
+ * overhead is checking a flag.
+ *
+ * In addition, the number of events with suspended handlers is
+ * always counted, because it reflects the current state. 
+ */
+@SuppressWarnings({ "PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal",
+    "PMD.AvoidUsingVolatile" })
+public class DispatchMetrics {
+
+    private static volatile boolean enabled
+        = Boolean.getBoolean("jgrapes.dispatchMetrics");
+
+    /** Handlers with statistics, tracked with weak references. */
+    private static final Set<HandlerReference> measuredHandlers
+        = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final Map<Class<?>, Recorder> queueWaits
+        = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Recorder> completions
+        = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Recorder> expirations
+        = new ConcurrentHashMap<>();
+    /** Always maintained, because it reflects the current state. */
+    private static final LongAdder suspended = new LongAdder();
+
+    private DispatchMetrics() {
+    }
+
+    /**
+     * Checks if collecting statistics is enabled.
+     *
+     * @return true, if enabled
+     */
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables collecting statistics.
+     *
+     * @param enabled the new value
+     */
+    public static void setEnabled(boolean enabled) {
+        DispatchMetrics.enabled = enabled;
+    }
+
+    /**
+     * Discards all statistics collected so far.
+     */
+    public static void reset() {
+        synchronized (measuredHandlers) {
+            for (var handler : measuredHandlers) {
+                handler.metrics = null;
+            }
+            measuredHandlers.clear();
+        }
+        queueWaits.clear();
+        completions.clear();
+        expirations.clear();
+    }
+
+    /**
+     * Records the execution of a handler.
+     *
+     * @param handler the handler
+     * @param event the event
+     * @param nanos the execution time
+     */
+    /* default */ static void handlerInvoked(HandlerReference handler,
+            EventBase<?> event, long nanos) {
+        var metrics = handler.metrics;
+        if (metrics == null) {
+            synchronized (measuredHandlers) {
+                metrics = handler.metrics;
+                if (metrics == null) {
+                    metrics = new ConcurrentHashMap<>();
+                    handler.metrics = metrics;
+                    measuredHandlers.add(handler);
+                }
+            }
+        }
+        metrics.computeIfAbsent(event.getClass(), k -> new Recorder())
+            .record(nanos);
+    }
+
+    /**
+     * Records the time that an event has spent in a queue.
+     *
+     * @param event the event
+     * @param nanos the time spent
+     */
+    /* default */ static void eventDequeued(EventBase<?> event, long nanos) {
+        queueWaits.computeIfAbsent(event.getClass(), k -> new Recorder())
+            .record(nanos);
+    }
+
+    /**
+     * Records the time between firing an event and its completion.
+     *
+     * @param event the event
+     * @param nanos the time elapsed
+     */
+    /* default */ static void eventCompleted(EventBase<?> event, long nanos) {
+        completions.computeIfAbsent(event.getClass(), k -> new Recorder())
+            .record(nanos);
+    }
+
+    /**
+     * Records an event that has not been handled because its
+     * deadline had passed.
+     *
+     * @param event the event
+     * @param nanos the time spent in the queue
+     */
+    /* default */ static void eventExpired(EventBase<?> event, long nanos) {
+        expirations.computeIfAbsent(event.getClass(), k -> new Recorder())
+            .record(nanos);
+    }
+
+    /**
+     * Records the suspension of an event's handlers.
+     */
+    /* default */ static void eventSuspended() {
+        suspended.increment();
+    }
+
+    /**
+     * Records the resumption of an event's handlers.
+     */
+    /* default */ static void eventResumed() {
+        suspended.decrement();
+    }
+
+    /**
+     * Returns the number of events with suspended handlers
+     * in all pipelines.
+     *
+     * @return the number of events
+     */
+    public static long suspendedEvents() {
+        return suspended.sum();
+    }
+
+    /**
+     * Records durations. Durations are counted in buckets, with four
+     * buckets for each power of two, so percentiles can be reported
+     * with an error of at most 25%. As the recorded durations usually
+     * cover a small range only, the counters for the buckets are
+     * created when first used.
+     */
+    /* default */ static final class Recorder {
+        private static final int SUB_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicReferenceArray<LongAdder> buckets
+            = new AtomicReferenceArray<>(
+                (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS);
+
+        private Recorder() {
+            // Make constructor private
+        }
+
+        private static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) Math.max(0, value);
+            }
+            int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS
+                - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+        }
+
+        /* default */ void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            int index = bucket(nanos);
+            LongAdder counter = buckets.get(index);
+            if (counter == null) {
+                buckets.compareAndSet(index, null, new LongAdder());
+                counter = buckets.get(index);
+            }
+            counter.increment();
+            long current = max.get();
+            while (nanos > current && !max.compareAndSet(current, nanos)) {
+                current = max.get();
+            }
+        }
+
+        /* default */ long percentile(double fraction) {
+            long[] counts = new long[buckets.length()];
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                LongAdder counter = buckets.get(i);
+                counts[i] = counter == null ? 0 : counter.sum();
+                sum += counts[i];
+            }
+            long threshold = (long) Math.ceil(sum * fraction);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= threshold && seen > 0) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return 0;
+        }
+
+        /* default */ Metrics toMetrics(String component, String handler,
+                Class<?> eventClass) {
+            return new Metrics(component, handler, eventClass.getName(),
+                count.sum(), total.sum() / 1000, percentile(0.5) / 1000,
+                percentile(0.9) / 1000, percentile(0.99) / 1000,
+                max.get() / 1000);
+        }
+    }
+
+    /**
+     * The statistics for a handler or an event class. All times
+     * are reported in microseconds.
+     */
+    @SuppressWarnings({ "PMD.DataClass", "PMD.ExcessiveParameterList" })
+    public static class Metrics {
+        private final String component;
+        private final String handler;
+        private final String event;
+        private final long count;
+        private final long total;
+        private final long median;
+        private final long percentile90;
+        private final long percentile99;
+        private final long max;
+
+        /**
+         * Instantiates new metrics.
+         *
+         * @param component the component (empty for event metrics)
+         * @param handler the handler method (empty for event metrics)
+         * @param event the event class
+         * @param count the number of recorded values
+         * @param total the sum of the recorded values
+         * @param median the median
+         * @param percentile90 the 90th percentile
+         * @param percentile99 the 99th percentile
+         * @param max the maximum
+         */
+        @ConstructorProperties({ "component", "handler", "event", "count",
+            "total", "median", "percentile90", "percentile99", "max" })
+        public Metrics(String component, String handler, String event,
+                long count, long total, long median, long percentile90,
+                long percentile99, long max) {
+            this.component = component;
+            this.handler = handler;
+            this.event = event;
+            this.count = count;
+            this.total = total;
+            this.median = median;
+            this.percentile90 = percentile90;
+            this.percentile99 = percentile99;
+            this.max = max;
+        }
+
+        /**
+         * The component that provides the handler.
+         *
+         * @return the value
+         */
+        public String getComponent() {
+            return component;
+        }
+
+        /**
+         * The name of the handler method.
+         *
+         * @return the value
+         */
+        public String getHandler() {
+            return handler;
+        }
+
+        /**
+         * The class of the event.
+         *
+         * @return the value
+         */
+        public String getEvent() {
+            return event;
+        }
+
+        /**
+         * The number of recorded values.
+         *
+         * @return the value
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * The sum of the recorded values.
+         *
+         * @return the value
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * The (approximated) median of the recorded values.
+         *
+         * @return the value
+         */
+        public long getMedian() {
+            return median;
+        }
+
+        /**
+         * The (approximated) 90th percentile of the recorded values.
+         *
+         * @return the value
+         */
+        public long getPercentile90() {
+            return percentile90;
+        }
+
+        /**
+         * The (approximated) 99th percentile of the recorded values.
+         *
+         * @return the value
+         */
+        public long getPercentile99() {
+            return percentile99;
+        }
+
+        /**
+         * The maximum of the recorded values.
+         *
+         * @return the value
+         */
+        public long getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * Returns the statistics about handler executions, sorted by
+     * the total time spent in the handler (descending).
+     *
+     * @return the metrics
+     */
+    public static List<Metrics> handlerMetrics() {
+        List<HandlerReference> handlers;
+        synchronized (measuredHandlers) {
+            handlers = new ArrayList<>(measuredHandlers);
+        }
+        List<Metrics> result = new ArrayList<>();
+        for (var handler : handlers) {
+            var metrics = handler.metrics;
+            if (metrics == null) {
+                continue;
+            }
+            String component = Components.objectName(handler.component());
+            for (var entry : metrics.entrySet()) {
+                result.add(entry.getValue().toMetrics(component,
+                    handler.methodName(), entry.getKey()));
+            }
+        }
+        result.sort(Comparator.comparingLong(Metrics::getTotal).reversed());
+        return result;
+    }
+
+    /**
+     * Returns the statistics about the time that events have
+     * been waiting in a queue, sorted by the total time (descending).
+     *
+     * @return the metrics
+     */
+    public static List<Metrics> queueWaitMetrics() {
+        return eventMetrics(queueWaits);
+    }
+
+    /**
+     * Returns the statistics about the time between firing
+     * events and their completion, sorted by the total time
+     * (descending).
+     *
+     * @return the metrics
+     */
+    public static List<Metrics> completionMetrics() {
+        return eventMetrics(completions);
+    }
+
+    /**
+     * Returns the statistics about the time that expired events
+     * have been waiting in a queue, sorted by the total time
+     * (descending).
+     *
+     * @return the metrics
+     */
+    public static List<Metrics> expirationMetrics() {
+        return eventMetrics(expirations);
+    }
+
+    private static List<Metrics> eventMetrics(Map<Class<?>, Recorder> source) {
+        List<Metrics> result = new ArrayList<>();
+        for (var entry : source.entrySet()) {
+            result.add(entry.getValue().toMetrics("", "", entry.getKey()));
+        }
+        result.sort(Comparator.comparingLong(Metrics::getTotal).reversed());
+        return result;
+    }
+
+    /**
+     * An MBean interface for getting the dispatch statistics.
+     */
+    public interface DispatchMetricsMXBean {
+
+        /**
+         * Enables or disables collecting statistics.
+         *
+         * @param enabled the new value
+         */
+        void setEnabled(boolean enabled);
+
+        /**
+         * Checks if collecting statistics is enabled.
+         *
+         * @return true, if enabled
+         */
+        boolean isEnabled();
+
+        /**
+         * Discards all statistics collected so far.
+         */
+        void reset();
+
+        /**
+         * Statistics about the handler executions, sorted by
+         * the total time spent in the handler (descending).
+         *
+         * @return the metrics
+         */
+        List<Metrics> getHandlerMetrics();
+
+        /**
+         * Statistics about the time that events have been waiting
+         * in a queue, sorted by the total time (descending).
+         *
+         * @return the metrics
+         */
+        List<Metrics> getQueueWaitMetrics();
+
+        /**
+         * Statistics about the time between firing events and
+         * their completion, sorted by the total time (descending).
+         *
+         * @return the metrics
+         */
+        List<Metrics> getCompletionMetrics();
+
+        /**
+         * Statistics about the time that expired events have been
+         * waiting in a queue, sorted by the total time (descending).
+         *
+         * @return the metrics
+         */
+        List<Metrics> getExpirationMetrics();
+
+        /**
+         * The number of events with suspended handlers in all
+         * pipelines. Maintained even if collecting statistics
+         * is disabled.
+         *
+         * @return the number of events
+         */
+        long getSuspendedEvents();
+    }
+
+    /**
+     * The MBean view.
+     */
+    @SuppressWarnings("PMD.PublicMemberInNonPublicType")
+    private static final class MBeanView implements DispatchMetricsMXBean {
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            DispatchMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return DispatchMetrics.enabled();
+        }
+
+        @Override
+        public void reset() {
+            DispatchMetrics.reset();
+        }
+
+        @Override
+        public List<Metrics> getHandlerMetrics() {
+            return handlerMetrics();
+        }
+
+        @Override
+        public List<Metrics> getQueueWaitMetrics() {
+            return queueWaitMetrics();
+        }
+
+        @Override
+        public List<Metrics> getCompletionMetrics() {
+            return completionMetrics();
+        }
+
+        @Override
+        public List<Metrics> getExpirationMetrics() {
+            return expirationMetrics();
+        }
+
+        @Override
+        public long getSuspendedEvents() {
+            return suspendedEvents();
+        }
+    }
+
+    static {
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName mxbeanName = new ObjectName("org.jgrapes.core:type="
+                + DispatchMetrics.class.getSimpleName());
+            mbs.registerMBean(new MBeanView(), mxbeanName);
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException
+                | MBeanRegistrationException | NotCompliantMBeanException e) {
+            // Does not happen
+        }
+    }
+}
@@ -18,19 +18,30 @@
 
 package org.jgrapes.core.internal;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 import org.jgrapes.core.Associator;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.CompletionEvent;
 import org.jgrapes.core.CompletionLock;
+import org.jgrapes.core.Components;
 import org.jgrapes.core.Eligible;
 import org.jgrapes.core.Event;
 import org.jgrapes.core.EventPipeline;
@@ -48,6 +59,23 @@ import org.jgrapes.core.EventPipeline;
 public abstract class EventBase<T>
         implements Eligible, Future<T>, Associator {
 
+    private static final VarHandle WAITERS;
+    private static final VarHandle COMPLETION;
+    private static final VarHandle RESUME_REQUESTED;
+
+    static {
+        try {
+            WAITERS = MethodHandles.lookup().findVarHandle(
+                EventBase.class, "waiters", Waiter.class);
+            COMPLETION = MethodHandles.lookup().findVarHandle(
+                EventBase.class, "completion", CompletableFuture.class);
+            RESUME_REQUESTED = MethodHandles.lookup().findVarHandle(
+                EventBase.class, "resumeRequested", boolean.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /** The event that caused this event. */
     private EventBase<?> generatedBy;
     /** Number of events that have to be processed until completion.
@@ -58,6 +86,8 @@ public abstract class EventBase<T>
     private Set<CompletionLockBase> completionLocks;
     /** Set when the event is enqueued, reset when it has been completed. */
     private EventProcessor processedBy;
+    /** When the event was fired, set only if metrics are enabled. */
+    /* default */ long firedAt;
     /** The events to be fired upon completion. Using this attribute
      * provides a slightly faster access than invoking
      * {@link Event#completionEvents()}, which wraps the result in
@@ -67,13 +97,32 @@ public abstract class EventBase<T>
      * {@link #handlingError(EventPipeline, Throwable)}. */
     protected Channel invokedFor;
     /** Set when the event has been completed. */
-    protected boolean completed;
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    protected volatile boolean completed;
+    /** Threads waiting for completion, a stack linked by {@link Waiter#next}. */
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Waiter waiters;
+    /** Completed when the event completes, created on demand. */
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile CompletableFuture<Void> completion;
     private boolean requiresResult;
     /** Event is tracked by {@link VerboseHandlerReference}. */
     private boolean tracked = true;
     /** Event handler to be invoked after resumeHandling. */
-    private Iterator<HandlerReference> suspendedHandlers;
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Iterator<HandlerReference> suspendedHandlers;
     private Runnable whenResumed;
+    /** Set when resuming the suspended handlers has been requested. */
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile boolean resumeRequested;
+    /** Events coalesced with this event, modified by the processor
+     * (with its lock held) while this event is queued only. */
+    private List<EventBase<?>> coalesced;
+    /** The latest time for starting to handle the event. */
+    private Instant deadline;
+    /** The maximum time that the event may wait in a queue. */
+    private Duration timeToLive;
+    private boolean expired;
 
     /**
      * See {@link Event#channels()}.
@@ -97,6 +146,34 @@ public abstract class EventBase<T>
      */
     protected abstract List<T> currentResults();
 
+    /**
+     * See {@link Event#coalesceKey()}.
+     */
+    protected abstract Object coalesceKey();
+
+    /**
+     * Merges an event that has been coalesced with this event into 
+     * this event, see {@link Event#coalesce(Event)}.
+     *
+     * @param later the event fired later
+     */
+    protected abstract void mergeCoalesced(EventBase<?> later);
+
+    /**
+     * Coalesces the given event with this event. The given event 
+     * is merged into this event and completes when this 
+     * event completes.
+     *
+     * @param later the event fired later
+     */
+    /* default */ void absorb(EventBase<?> later) {
+        if (coalesced == null) {
+            coalesced = new ArrayList<>();
+        }
+        coalesced.add(later);
+        mergeCoalesced(later);
+    }
+
     /**
      * See {@link Event#setRequiresResult(boolean)}.
      */
@@ -114,6 +191,96 @@ public abstract class EventBase<T>
         return this;
     }
 
+    /**
+     * See {@link Event#setDeadline(Instant)}.
+     */
+    protected EventBase<T> setDeadline(Instant deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Returns the deadline set with {@link Event#setDeadline(Instant)}.
+     *
+     * @return the deadline
+     */
+    public Optional<Instant> deadline() {
+        return Optional.ofNullable(deadline);
+    }
+
+    /**
+     * See {@link Event#setTimeToLive(Duration)}.
+     */
+    protected EventBase<T> setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * Returns the time to live set with 
+     * {@link Event#setTimeToLive(Duration)}.
+     *
+     * @return the time to live
+     */
+    public Optional<Duration> timeToLive() {
+        return Optional.ofNullable(timeToLive);
+    }
+
+    /**
+     * Checks if the event has a deadline or a time to live.
+     *
+     * @return true, if the event may expire
+     */
+    /* default */ boolean mayExpire() {
+        return deadline != null || timeToLive != null;
+    }
+
+    /**
+     * Returns the time (as obtained from {@link System#nanoTime()}) 
+     * after which the event may no longer be handled. Invoked when 
+     * an event that {@link #mayExpire()} is enqueued.
+     *
+     * @param now the current time
+     * @return the time, never {@link EventChannelsTuple#NO_EXPIRY}
+     */
+    /* default */ long expiresAt(long now) {
+        long remaining = Long.MAX_VALUE;
+        if (timeToLive != null) {
+            remaining = saturatedNanos(timeToLive);
+        }
+        if (deadline != null) {
+            remaining = Math.min(remaining,
+                saturatedNanos(Duration.between(Instant.now(), deadline)));
+        }
+        // Keep the difference to now computable without overflow
+        long expiresAt = now + Math.max(Math.min(remaining,
+            Long.MAX_VALUE / 4), Long.MIN_VALUE / 4);
+        return expiresAt == EventChannelsTuple.NO_EXPIRY ? expiresAt + 1
+            : expiresAt;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Marks the event as expired.
+     */
+    /* default */ void expired() {
+        expired = true;
+    }
+
+    /**
+     * See {@link Event#isExpired()}.
+     */
+    protected boolean isExpired() {
+        return expired;
+    }
+
     /**
      * See {@link Event#firstResultAssigned()}.
      */
@@ -202,15 +369,27 @@ public abstract class EventBase<T>
     }
 
     /**
-     * Resume the invocation of handlers for this event.
+     * Resume the invocation of handlers for this event. Handling 
+     * is resumed at most once for each suspension. Invocations
+     * while the handling is not suspended, e.g. because it has
+     * already been resumed or the event has completed, have no
+     * effect.
      * 
      * @see #suspendHandling()
      */
     public void resumeHandling() {
-        if (processedBy == null) {
+        if (completed) {
+            return;
+        }
+        EventProcessor processor = processedBy;
+        if (processor == null) {
+            if (completed) {
+                // Completed concurrently
+                return;
+            }
             throw new IllegalStateException("Lost processor.");
         }
-        processedBy.resumeHandling(this);
+        processor.resumeHandling(this);
     }
 
     /* default */ Iterator<HandlerReference> clearSuspendedHandlers() {
@@ -219,11 +398,29 @@ public abstract class EventBase<T>
         return result;
     }
 
+    /* default */ boolean isSuspended() {
+        return suspendedHandlers != null;
+    }
+
     /* default */ void setSuspendedHandlers(
             Iterator<HandlerReference> suspendedHandlers) {
+        // Must be cleared before the suspension becomes visible
+        resumeRequested = false;
         this.suspendedHandlers = suspendedHandlers;
     }
 
+    /**
+     * Requests the resumption of the suspended handlers. Only the first
+     * request for a suspension succeeds, so the event is queued for
+     * resumption at most once.
+     *
+     * @return true, if the event has to be queued for resumption
+     */
+    /* default */ boolean requestResume() {
+        return isSuspended()
+            && RESUME_REQUESTED.compareAndSet(this, false, true);
+    }
+
     /**
      * @param pipeline
      */
@@ -231,9 +428,12 @@ public abstract class EventBase<T>
         "PMD.AvoidDeeplyNestedIfStmts" })
     /* default */ void decrementOpen() {
         if (openCount.decrementAndGet() == 0 && !completed) {
-            synchronized (this) {
-                completed = true;
-                notifyAll();
+            completed = true;
+            var future = completion;
+            boolean awaited = releaseWaiters() || future != null;
+            if (firedAt != 0) {
+                DispatchMetrics.eventCompleted(this,
+                    System.nanoTime() - firedAt);
             }
             if (completionEvents != null && !isCancelled()) {
                 processedBy.updateNewEventsParent(generatedBy);
@@ -253,6 +453,234 @@ public abstract class EventBase<T>
                 generatedBy.decrementOpen();
             }
             processedBy = null; // No longer needed
+            if (future != null) {
+                future.complete(null);
+            }
+            if (coalesced != null) {
+                for (EventBase<?> later : coalesced) {
+                    if (isCancelled()) {
+                        later.cancel(false);
+                    }
+                    if (!later.currentResults().isEmpty()) {
+                        // The results are shared
+                        later.firstResultAssigned();
+                    }
+                    later.decrementOpen();
+                }
+            }
+            if (!awaited && coalesced == null && (completionEvents == null
+                || completionEvents.isEmpty())) {
+                recycle();
+            }
+        }
+    }
+
+    private boolean releaseWaiters() {
+        Waiter waiter = (Waiter) WAITERS.getAndSet(this, null);
+        boolean released = waiter != null;
+        while (waiter != null) {
+            if (!waiter.cancelled) {
+                LockSupport.unpark(waiter.thread);
+            }
+            waiter = waiter.next;
+        }
+        return released;
+    }
+
+    /**
+     * Removes the waiters that have stopped waiting (because of a 
+     * timeout or an interrupt) from the stack of waiters. Cancelled
+     * waiters at the top are popped, the others are unlinked. Because
+     * a waiter never becomes active again, concurrent invocations
+     * may unlink the same waiter twice but never remove an active one.
+     */
+    private void pruneWaiters() {
+        Waiter head;
+        while ((head = waiters) != null && head.cancelled) {
+            WAITERS.compareAndSet(this, head, head.next);
+        }
+        Waiter pred = head;
+        while (pred != null) {
+            Waiter next = pred.next;
+            if (next != null && next.cancelled) {
+                pred.next = next.next;
+            } else {
+                pred = next;
+            }
+        }
+    }
+
+    /**
+     * Returns a future that is completed when the event completes.
+     * The future is completed by the thread that completes the event,
+     * no thread is blocked while waiting for the completion.
+     *
+     * @return the future
+     */
+    protected CompletableFuture<Void> completion() {
+        CompletableFuture<Void> result = completion;
+        if (result == null) {
+            result = new CompletableFuture<>();
+            if (!COMPLETION.compareAndSet(this, null, result)) {
+                result = completion;
+            }
+        }
+        // Completion may have happened before the future was set
+        if (completed) {
+            result.complete(null);
+        }
+        return result;
+    }
+
+    /**
+     * Invoked when the event has completed, if no completion events
+     * refer to it and no thread has waited for its completion. The 
+     * framework does not use the event any more after this 
+     * method has been invoked. 
+     * 
+     * The default implementation does nothing. Event types that
+     * are created at a high rate may override this method to 
+     * {@link #reset()} the event and keep it for reuse. This is only
+     * safe if neither the creator of the event nor any handler keeps
+     * a reference to the event after its completion.
+     */
+    protected void recycle() {
+        // Default is to do nothing.
+    }
+
+    /**
+     * Resets the state of a completed event to the state of a newly
+     * created event, thus allowing the event to be fired again.
+     * Derived classes that override this method must invoke 
+     * the super class' method.
+     *
+     * @see #recycle()
+     */
+    protected void reset() {
+        generatedBy = null;
+        openCount.set(1);
+        completionLocks = null;
+        processedBy = null;
+        firedAt = 0;
+        completionEvents = null;
+        invokedFor = null;
+        requiresResult = false;
+        tracked = true;
+        suspendedHandlers = null;
+        whenResumed = null;
+        resumeRequested = false;
+        coalesced = null;
+        deadline = null;
+        timeToLive = null;
+        expired = false;
+        completion = null;
+        completed = false;
+    }
+
+    /**
+     * A thread waiting for the completion of the event. Waiting
+     * uses {@link LockSupport} (instead of an object's monitor), so
+     * virtual threads are not pinned to their carrier. When invoked
+     * from a {@link ForkJoinPool}'s worker, the pool is informed about
+     * the blocking, so that it can compensate for the blocked worker.
+     */
+    private static final class Waiter implements ForkJoinPool.ManagedBlocker {
+        private final EventBase<?> event;
+        private final Thread thread = Thread.currentThread();
+        private final long deadline;
+        private final boolean timed;
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile Waiter next;
+        /** Set when the thread has stopped waiting without completion. */
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile boolean cancelled;
+
+        private Waiter(EventBase<?> event, boolean timed, long nanos) {
+            this.event = event;
+            this.timed = timed;
+            deadline = timed ? System.nanoTime() + nanos : 0;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return event.completed
+                || timed && deadline - System.nanoTime() <= 0;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (isReleasable()) {
+                return true;
+            }
+            if (timed) {
+                LockSupport.parkNanos(event, deadline - System.nanoTime());
+            } else {
+                LockSupport.park(event);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return isReleasable();
+        }
+    }
+
+    /**
+     * Waits for the event to be completed.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    protected void awaitCompletion() throws InterruptedException {
+        if (!completed) {
+            await(new Waiter(this, false, 0));
+        }
+    }
+
+    /**
+     * Waits for the event to be completed or the timeout to expire.
+     *
+     * @param timeout the timeout
+     * @param unit the unit of the timeout
+     * @return true, if the event has been completed
+     * @throws InterruptedException the interrupted exception
+     */
+    protected boolean awaitCompletion(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!completed) {
+            await(new Waiter(this, true, unit.toNanos(timeout)));
+        }
+        return completed;
+    }
+
+    @SuppressWarnings({ "PMD.CompareObjectsWithEquals",
+        "PMD.GuardLogStatement" })
+    private void await(Waiter waiter) throws InterruptedException {
+        var pipeline = ComponentTree.currentPipeline();
+        if (pipeline != null) {
+            // Invoked by a handler
+            if (pipeline == processedBy) {
+                CoreUtils.blockingLogger.log(Level.SEVERE, "Handler waits for "
+                    + this + ", which is to be handled by the same pipeline"
+                    + " (deadlock).", new IllegalStateException());
+            } else if (!Components.blockingHandlersAllowed()) {
+                CoreUtils.blockingLogger.log(Level.WARNING, "Handler blocks"
+                    + " while waiting for " + this + ".", new Throwable());
+            }
+        }
+        do {
+            waiter.next = waiters;
+        } while (!WAITERS.compareAndSet(this, waiter.next, waiter));
+        // Completion may have happened before the waiter was added
+        if (completed) {
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(waiter);
+        } finally {
+            if (!completed) {
+                // Timed out or interrupted, don't keep the waiter
+                waiter.cancelled = true;
+                pruneWaiters();
+            }
         }
     }
 
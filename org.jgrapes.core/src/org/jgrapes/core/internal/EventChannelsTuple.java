@@ -29,8 +29,17 @@ import org.jgrapes.core.Channel;
  * about an event being fired on some channels.
  */
 public class EventChannelsTuple {
+    /** Value of {@link #expiresAt} for events that don't expire. */
+    /* default */ static final long NO_EXPIRY = Long.MIN_VALUE;
+
     public EventBase<?> event;
     public Channel[] channels;
+    /** When the tuple was enqueued, set only if metrics are enabled. */
+    /* default */ long enqueuedAt;
+    /** The key under which the tuple is registered for coalescing. */
+    /* default */ Object coalescingKey;
+    /** When the event expires, {@link #NO_EXPIRY} if it has no deadline. */
+    /* default */ long expiresAt = NO_EXPIRY;
 
     /**
      * Create a new instance.
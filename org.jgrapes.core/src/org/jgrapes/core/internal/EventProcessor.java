@@ -18,40 +18,80 @@
 
 package org.jgrapes.core.internal;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.Components;
 import org.jgrapes.core.Event;
 import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.annotation.Urgent;
+import org.jgrapes.core.events.Expired;
 
 /**
  * This class provides the default implementation of an {@link EventPipeline}.
  */
-@SuppressWarnings("PMD.AvoidSynchronizedStatement")
 public class EventProcessor implements InternalEventPipeline, Runnable {
 
     @SuppressWarnings("PMD.FieldNamingConventions")
     protected static final ThreadLocal<EventBase<?>> newEventsParent
         = new ThreadLocal<>();
 
+    /**
+     * The number of events that a processor handles before giving
+     * other processors a chance to run if the processor's executor
+     * service is a {@link ForkJoinPool}.
+     */
+    /* default */ static final int WORK_STEALING_BATCH = 64;
+
+    /** Caches the result of checking event types for {@link Urgent}. */
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final ClassValue<Boolean> urgentTypes
+        = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return type.isAnnotationPresent(Urgent.class);
+            }
+        };
+
     private final ExecutorService executorService;
+    private final ForkJoinPool workStealingPool;
     private final ComponentTree componentTree;
     private final EventPipeline asEventPipeline;
     // Must not use synchronized in toString, leads to unexpected deadlock
     protected final Queue<EventChannelsTuple> queue
         = new ConcurrentLinkedQueue<>();
+    // Lane for urgent events, served before the queue
+    protected final Queue<EventChannelsTuple> urgent
+        = new ConcurrentLinkedQueue<>();
+    // Events dispatched inline, used by this thread only
+    private final Queue<EventChannelsTuple> inline = new ArrayDeque<>();
     private Iterator<HandlerReference> invoking;
-    // Used by this thread only.
-    private final Set<EventBase<?>> suspended = new HashSet<>();
+    // Only modified by this thread, read by others.
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile int suspendedEvents;
     // Only this thread can remove, but others might add.
     private final Queue<EventBase<?>> toBeResumed
-        = new ConcurrentLinkedDeque<>();
+        = new ConcurrentLinkedQueue<>();
+    // Set while resumptions need not restart the processor
+    private final AtomicBoolean resumptionsHandled = new AtomicBoolean();
+    // Using a lock (instead of synchronized) avoids pinning virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition exhausted = lock.newCondition();
+    // Queued events that may be coalesced, guarded by lock
+    private final Map<Object, EventChannelsTuple> coalescing = new HashMap<>();
     private boolean isExecuting;
     private final ThreadLocal<Thread> executor = new ThreadLocal<>();
 
@@ -68,6 +108,9 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
             ExecutorService executorService) {
         this.componentTree = tree;
         this.executorService = executorService;
+        workStealingPool = executorService instanceof ForkJoinPool pool
+            ? pool
+            : null;
         asEventPipeline = new CheckingPipelineFilter(tree, this);
     }
 
@@ -97,35 +140,261 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
 
     @Override
     public <T extends Event<?>> T add(T event, Channel... channels) {
+        if (coalesce(event, channels)) {
+            return event;
+        }
+        return enqueue(event, channels);
+    }
+
+    /**
+     * Adds the event to the queue without trying to coalesce it
+     * with a queued event.
+     *
+     * @param <T> the event's type
+     * @param event the event
+     * @param channels the channels
+     * @return the event
+     */
+    /* default */ <T extends Event<?>> T enqueue(T event,
+            Channel... channels) {
         ((EventBase<?>) event).generatedBy(newEventsParent.get()); // NOPMD
         ((EventBase<?>) event).processedBy(this); // NOPMD (cast)
-        synchronized (this) {
-            EventChannelsTuple.addTo(queue, event, channels);
+        var entry = new EventChannelsTuple(event, channels);
+        if (DispatchMetrics.enabled()) {
+            markEnqueued(entry);
+        }
+        markDeadline(entry);
+        if (Components.inlineDispatch() && isProcessingThread()
+            && dispatchInline(entry)) {
+            return event;
+        }
+        lock.lock();
+        try {
+            queue(entry);
             if (!isExecuting) {
                 // Queue was initially empty, this starts it
                 GeneratorRegistry.instance().add(this);
                 isExecuting = true;
                 executorService.execute(this);
             }
+        } finally {
+            lock.unlock();
         }
         return event;
     }
 
+    @Override
+    public void addAll(Collection<? extends Event<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Prepare everything outside the lock
+        EventBase<?> parent = newEventsParent.get();
+        List<EventChannelsTuple> entries = new ArrayList<>(events.size());
+        for (Event<?> event : events) {
+            EventBase<?> base = event;
+            base.generatedBy(parent);
+            base.processedBy(this);
+            entries.add(new EventChannelsTuple(base, event.channels()));
+        }
+        if (DispatchMetrics.enabled()) {
+            entries.forEach(EventProcessor::markEnqueued);
+        }
+        entries.forEach(EventProcessor::markDeadline);
+        lock.lock();
+        try {
+            for (var entry : entries) {
+                if (!coalesce(entry)) {
+                    queue(entry);
+                }
+            }
+            if (!isExecuting) {
+                GeneratorRegistry.instance().add(this);
+                isExecuting = true;
+                executorService.execute(this);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tries to coalesce the event with a queued event (see
+     * {@link Event#coalesceKey()}).
+     *
+     * @param event the event
+     * @param channels the channels
+     * @return true, if the event has been coalesced
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    /* default */ boolean coalesce(EventBase<?> event, Channel[] channels) {
+        Object key = coalescingKey(event, channels);
+        if (key == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            EventChannelsTuple queued = coalescing.get(key);
+            if (queued == null) {
+                return false;
+            }
+            event.generatedBy(newEventsParent.get());
+            event.processedBy(this);
+            queued.event.absorb(event);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tries to coalesce the event from the prepared entry with a 
+     * queued event. Must be invoked with the lock held.
+     *
+     * @param entry the entry
+     * @return true, if the event has been coalesced
+     */
+    private boolean coalesce(EventChannelsTuple entry) {
+        Object key = coalescingKey(entry.event, entry.channels);
+        if (key == null) {
+            return false;
+        }
+        EventChannelsTuple queued = coalescing.get(key);
+        if (queued == null) {
+            return false;
+        }
+        queued.event.absorb(entry.event);
+        return true;
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    private static Object coalescingKey(EventBase<?> event,
+            Channel[] channels) {
+        Object key = event.coalesceKey();
+        if (key == null) {
+            return null;
+        }
+        return List.of(event.getClass(), key, List.of(channels));
+    }
+
+    /**
+     * Adds the entry to its lane and registers it for coalescing
+     * if required. Must be invoked with the lock held.
+     *
+     * @param entry the entry
+     */
+    private void queue(EventChannelsTuple entry) {
+        laneFor(entry).add(entry);
+        Object key = coalescingKey(entry.event, entry.channels);
+        if (key != null && coalescing.putIfAbsent(key, entry) == null) {
+            entry.coalescingKey = key;
+        }
+    }
+
+    /**
+     * Must be invoked for every entry removed from the queue. 
+     * Ends the possibility to coalesce events with the entry's 
+     * event.
+     *
+     * @param entry the entry
+     */
+    /* default */ void removed(EventChannelsTuple entry) {
+        if (entry.coalescingKey == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            coalescing.remove(entry.coalescingKey, entry);
+            entry.coalescingKey = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the queue for the given entry. Events of the same type
+     * always use the same lane, so their order is preserved.
+     *
+     * @param entry the entry
+     * @return the queue
+     */
+    private Queue<EventChannelsTuple> laneFor(EventChannelsTuple entry) {
+        return urgentTypes.get(entry.event.getClass()) ? urgent : queue;
+    }
+
+    /**
+     * Adds the entry to the entries dispatched inline if the event
+     * would be the next event taken from the queue anyway. Entries
+     * dispatched inline are handled after the current handler chain
+     * without passing the (locked) queue. Must only be invoked by
+     * the processing thread.
+     *
+     * @param entry the entry
+     * @return true, if the entry has been added
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private boolean dispatchInline(EventChannelsTuple entry) {
+        // Events in the lanes have been fired before, also keep
+        // urgent events in their lane, they are handled first anyway.
+        if (!urgent.isEmpty() || !queue.isEmpty() || laneFor(entry) != queue) {
+            return false;
+        }
+        inline.add(entry);
+        return true;
+    }
+
+    /**
+     * Removes the next entry from the urgent lane or, if the
+     * urgent lane is empty, from the entries dispatched inline
+     * or the queue.
+     *
+     * @return the entry or `null` if all are empty
+     */
+    private EventChannelsTuple poll() {
+        EventChannelsTuple next = urgent.poll();
+        if (next != null) {
+            return next;
+        }
+        next = inline.poll();
+        if (next != null) {
+            return next;
+        }
+        return queue.poll();
+    }
+
+    private static void markEnqueued(EventChannelsTuple entry) {
+        long now = System.nanoTime();
+        entry.enqueuedAt = now;
+        if (entry.event.firedAt == 0) {
+            entry.event.firedAt = now;
+        }
+    }
+
+    private static void markDeadline(EventChannelsTuple entry) {
+        if (entry.event.mayExpire()) {
+            entry.expiresAt = entry.event.expiresAt(System.nanoTime());
+        }
+    }
+
     /* default */ void add(Queue<EventChannelsTuple> source) {
-        synchronized (this) {
+        lock.lock();
+        try {
             while (true) {
                 EventChannelsTuple entry = source.poll();
                 if (entry == null) {
                     break;
                 }
                 entry.event.processedBy(this);
-                queue.add(entry);
+                markDeadline(entry);
+                queue(entry);
             }
             if (!isExecuting) {
                 GeneratorRegistry.instance().add(this);
                 isExecuting = true;
                 executorService.execute(this);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -139,6 +408,7 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
     }
 
     @Override
+    @SuppressWarnings("PMD.CognitiveComplexity")
     public void run() {
         String origName = Thread.currentThread().getName();
         try {
@@ -146,32 +416,73 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
                 origName + " (P" + Components.objectId(this) + ")");
             executor.set(Thread.currentThread());
             componentTree.setDispatchingPipeline(this);
+            int handled = 0;
             while (true) {
+                if (workStealingPool != null
+                    && handled++ == WORK_STEALING_BATCH) {
+                    // Continue later, allowing other processors to run.
+                    // Submitting as external task appends to the shared
+                    // queue instead of the worker's own queue (which
+                    // would be processed next). The processor remains
+                    // executing, so it cannot be started by another
+                    // thread in the meantime. This preserves the order
+                    // of events.
+                    workStealingPool.externalSubmit(ForkJoinTask.adapt(this));
+                    break;
+                }
+
                 // No lock needed, only this thread can remove from resumed
                 var resumedEvent = toBeResumed.poll();
                 if (resumedEvent != null) {
-                    if (suspended.remove(resumedEvent)) {
-                        resumedEvent.invokeWhenResumed();
-                        invokeHandlers(resumedEvent.clearSuspendedHandlers(),
-                            resumedEvent);
-                    }
+                    suspendedEvents -= 1;
+                    DispatchMetrics.eventResumed();
+                    // Events fired by the function are caused by the
+                    // resumed event, not by the previously handled
+                    // (and possibly already completed) event.
+                    newEventsParent.set(resumedEvent);
+                    resumedEvent.invokeWhenResumed();
+                    invokeHandlers(resumedEvent.clearSuspendedHandlers(),
+                        resumedEvent);
                     continue;
                 }
 
-                EventChannelsTuple next;
-                synchronized (this) {
-                    next = queue.poll();
-                    if (next == null) {
-                        // Everything is done, though suspended handlers
-                        // may cause this processor to be reactivated.
-                        GeneratorRegistry.instance().remove(this);
-                        isExecuting = false;
-                        synchronized (executor) {
-                            executor.notifyAll();
+                // No lock needed as long as there are events, only
+                // this thread removes from the queue.
+                EventChannelsTuple next = poll();
+                if (next == null) {
+                    lock.lock();
+                    try {
+                        next = poll();
+                        if (next == null) {
+                            // Resumptions requested from now on must
+                            // restart the processor. Check for those
+                            // requested before.
+                            resumptionsHandled.set(false);
+                            if (!toBeResumed.isEmpty()) {
+                                continue;
+                            }
+                            // Everything is done, though suspended handlers
+                            // may cause this processor to be reactivated.
+                            GeneratorRegistry.instance().remove(this);
+                            isExecuting = false;
+                            exhausted.signalAll();
+                            break;
                         }
-                        break;
+                    } finally {
+                        lock.unlock();
                     }
                 }
+                removed(next);
+                dequeued();
+                if (next.enqueuedAt != 0) {
+                    DispatchMetrics.eventDequeued(next.event,
+                        System.nanoTime() - next.enqueuedAt);
+                }
+                if (next.expiresAt != EventChannelsTuple.NO_EXPIRY
+                    && System.nanoTime() - next.expiresAt >= 0) {
+                    expire(next);
+                    continue;
+                }
                 @SuppressWarnings("PMD.LooseCoupling")
                 HandlerList handlers
                     = componentTree.getEventHandlers(next.event, next.channels);
@@ -190,6 +501,75 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
         }
     }
 
+    /**
+     * Handles an event whose deadline has passed. The event is
+     * cancelled, handled without invoking handlers and completes
+     * after the {@link Expired} event caused by it.
+     *
+     * @param entry the entry with the expired event
+     */
+    private void expire(EventChannelsTuple entry) {
+        EventBase<?> event = entry.event;
+        event.expired();
+        event.cancel(false);
+        if (entry.enqueuedAt != 0) {
+            DispatchMetrics.eventExpired(event,
+                System.nanoTime() - entry.enqueuedAt);
+        }
+        newEventsParent.set(event);
+        try {
+            // Allows e.g. buffers to be released
+            event.handled();
+            add(new Expired((Event<?>) event, entry.channels),
+                entry.channels);
+        } finally {
+            newEventsParent.set(null);
+        }
+        event.decrementOpen();
+    }
+
+    /**
+     * Called by the processing thread after an event has been 
+     * removed from the queue for being handled. The default 
+     * implementation does nothing.
+     */
+    /* default */ void dequeued() {
+        // Default is to do nothing.
+    }
+
+    /**
+     * Checks if the current thread is the thread that currently
+     * handles the events from this processor.
+     *
+     * @return true, if successful
+     */
+    /* default */ boolean isProcessingThread() {
+        return executor.get() != null;
+    }
+
+    /**
+     * Adds the event and handles it, together with any events fired
+     * by its handlers, in the calling thread. Must only be invoked
+     * on a newly created processor. Restoring the calling thread's 
+     * thread local state is the responsibility of the invoker.
+     *
+     * @param event the event
+     * @param channels the channels
+     */
+    /* default */ void runInCallingThread(Event<?> event,
+            Channel... channels) {
+        lock.lock();
+        try {
+            // Prevents add from starting the processor
+            GeneratorRegistry.instance().add(this);
+            isExecuting = true;
+        } finally {
+            lock.unlock();
+        }
+        add(event, channels);
+        run();
+    }
+
     /**
      * Invoke all (remaining) handlers with the given event as parameter.
      *
@@ -208,7 +588,14 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
                     if (event.isStopped()) {
                         break;
                     }
-                    hdlr.invoke(event);
+                    if (DispatchMetrics.enabled()) {
+                        long started = System.nanoTime();
+                        hdlr.invoke(event);
+                        DispatchMetrics.handlerInvoked(hdlr, event,
+                            System.nanoTime() - started);
+                    } else {
+                        hdlr.invoke(event);
+                    }
                 } catch (AssertionError t) {
                     // JUnit support
                     CoreUtils.setAssertionError(t);
@@ -253,23 +640,52 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
         }
         event.setSuspendedHandlers(invoking);
         invoking = null;
-        suspended.add(event);
-        // Just in case (might happen)
-        toBeResumed.remove(event);
+        suspendedEvents += 1;
+        DispatchMetrics.eventSuspended();
     }
 
+    /**
+     * Queues the event for resuming its handlers. The processor is
+     * restarted if required. While the processor is running, only
+     * the first request has to obtain the lock, further requests
+     * are simply picked up by the processing thread.
+     *
+     * @param event the event
+     */
     /* default */ void resumeHandling(EventBase<?> event) {
+        if (!event.requestResume()) {
+            // Happens when an event that is not suspended is stopped
+            // or when resumption has already been requested
+            return;
+        }
         toBeResumed.add(event);
-        synchronized (this) {
+        if (resumptionsHandled.get()
+            || !resumptionsHandled.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
             if (!isExecuting) {
                 // There were no more events, restart
                 GeneratorRegistry.instance().add(this);
                 isExecuting = true;
                 executorService.execute(this);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
+    /**
+     * Returns the number of events with suspended handlers.
+     *
+     * @return the number of events
+     */
+    @Override
+    public int suspendedEvents() {
+        return suspendedEvents;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -282,10 +698,13 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
 
     @Override
     public void awaitExhaustion() throws InterruptedException {
-        synchronized (executor) {
+        lock.lock();
+        try {
             while (isExecuting) {
-                executor.wait();
+                exhausted.await();
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -302,6 +721,9 @@ public class EventProcessor implements InternalEventPipeline, Runnable {
         if (queue != null) {
             builder.append("queue=").append(queue);
         }
+        if (urgent != null && !urgent.isEmpty()) {
+            builder.append(", urgent=").append(urgent);
+        }
         builder.append(']');
         return builder.toString();
     }
@@ -18,6 +18,7 @@
 
 package org.jgrapes.core.internal;
 
+import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.Event;
@@ -55,6 +56,16 @@ class FeedBackPipelineFilter implements InternalEventPipeline {
         return fallback.add(event, channels);
     }
 
+    @Override
+    public void addAll(Collection<? extends Event<?>> events) {
+        InternalEventPipeline pipeline = componentTree.dispatchingPipeline();
+        if (pipeline != null) {
+            pipeline.addAll(events);
+            return;
+        }
+        fallback.addAll(events);
+    }
+
     /*
      * (non-Javadoc)
      * 
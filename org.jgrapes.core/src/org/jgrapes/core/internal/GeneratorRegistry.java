@@ -18,19 +18,37 @@
 
 package org.jgrapes.core.internal;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
 import org.jgrapes.core.ComponentType;
 
 /**
  * A registry for generators. Used to track generators and determine
  * whether the application has stopped.
+ * 
+ * Adding and removing generators only updates an atomic counter.
+ * The registry's lock is used only when the counter changes from
+ * zero to one or from one to zero. While there are generators, a
+ * single (non-daemon) thread keeps the JVM alive. It lingers for
+ * a short time after the last generator has been removed, so that
+ * it can be reused if the application becomes busy again.
  */
-@SuppressWarnings({ "PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal",
-    "PMD.AvoidSynchronizedStatement" })
+@SuppressWarnings("PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal")
 public class GeneratorRegistry {
 
     @SuppressWarnings("PMD.FieldNamingConventions")
@@ -38,7 +56,12 @@ public class GeneratorRegistry {
         = Logger.getLogger(ComponentType.class.getPackage().getName()
             + ".generatorTracking");
 
-    private long running;
+    /** How long the keep alive thread waits for new generators. */
+    private static final Duration KEEP_ALIVE_LINGER = Duration.ofMillis(250);
+
+    private final AtomicLong running = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
     private Thread keepAlive;
     private Map<Object, Object> generators;
 
@@ -54,6 +77,15 @@ public class GeneratorRegistry {
         if (generatorTracking.isLoggable(Level.FINE)) {
             generators = Collections.synchronizedMap(new IdentityHashMap<>());
         }
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName mxbeanName = new ObjectName("org.jgrapes.core:type="
+                + GeneratorRegistry.class.getSimpleName());
+            mbs.registerMBean(new MBeanView(), mxbeanName);
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException
+                | MBeanRegistrationException | NotCompliantMBeanException e) {
+            // Does not happen
+        }
     }
 
     /**
@@ -71,29 +103,22 @@ public class GeneratorRegistry {
      * @param obj the obj
      */
     public void add(Object obj) {
-        synchronized (this) {
-            running += 1;
-            if (generators != null) {
-                generators.put(obj, null);
-                generatorTracking.finest(() -> "Added generator " + obj
-                    + ", " + generators.size() + " generators registered: "
-                    + generators.keySet());
-            }
-            if (running == 1) { // NOPMD, no, not using a constant for this.
-                keepAlive = new Thread("GeneratorRegistry") {
-                    @Override
-                    @SuppressWarnings("PMD.EmptyCatchBlock")
-                    public void run() {
-                        try {
-                            while (true) {
-                                sleep(Long.MAX_VALUE);
-                            }
-                        } catch (InterruptedException e) {
-                            // Okay, then stop
-                        }
-                    }
-                };
-                keepAlive.start();
+        if (generators != null) {
+            generators.put(obj, null);
+            generatorTracking.finest(() -> "Added generator " + obj
+                + ", " + generators.size() + " generators registered: "
+                + generators.keySet());
+        }
+        if (running.getAndIncrement() == 0) {
+            lock.lock();
+            try {
+                if (keepAlive == null) {
+                    keepAlive = new Thread(this::keepAlive,
+                        "GeneratorRegistry");
+                    keepAlive.start();
+                }
+            } finally {
+                lock.unlock();
             }
         }
     }
@@ -104,30 +129,54 @@ public class GeneratorRegistry {
      * @param obj the generator
      */
     public void remove(Object obj) {
-        synchronized (this) {
-            running -= 1;
-            if (generators != null) {
-                generators.remove(obj);
-                generatorTracking.finest(() -> "Removed generator " + obj
-                    + ", " + generators.size() + " generators registered: "
-                    + generators.keySet());
-            }
-            if (running == 0) {
+        if (generators != null) {
+            generators.remove(obj);
+            generatorTracking.finest(() -> "Removed generator " + obj
+                + ", " + generators.size() + " generators registered: "
+                + generators.keySet());
+        }
+        if (running.decrementAndGet() == 0) {
+            lock.lock();
+            try {
                 generatorTracking
                     .finest(() -> "Zero generators, notifying all.");
-                keepAlive.interrupt();
-                notifyAll();
+                changed.signalAll();
+            } finally {
+                lock.unlock();
             }
         }
     }
 
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private void keepAlive() {
+        lock.lock();
+        try {
+            while (true) {
+                if (running.get() > 0) {
+                    changed.await();
+                    continue;
+                }
+                changed.await(KEEP_ALIVE_LINGER.toMillis(),
+                    TimeUnit.MILLISECONDS);
+                if (running.get() == 0) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Okay, then stop
+        } finally {
+            keepAlive = null;
+            lock.unlock();
+        }
+    }
+
     /**
      * Checks if is exhausted (no generators left)
      *
      * @return true, if is exhausted
      */
     public boolean isExhausted() {
-        return running == 0;
+        return running.get() == 0;
     }
 
     /**
@@ -137,15 +186,11 @@ public class GeneratorRegistry {
      */
     @SuppressWarnings({ "PMD.GuardLogStatement" })
     public void awaitExhaustion() throws InterruptedException {
-        if (generators != null) {
-            synchronized (this) {
-                if (running != generators.size()) {
-                    generatorTracking
-                        .severe(() -> "Generator count doesn't match tracked.");
-                }
-            }
+        if (generators != null && running.get() != generators.size()) {
+            generatorTracking
+                .severe(() -> "Generator count doesn't match tracked.");
         }
-        while (running > 0) {
+        while (running.get() > 0) {
             // generators.keySet() may call EventProcessor.toString()
             // which locks on the EventProcessor which may want a lock
             // on the registry (deadlock). So keep this out of the
@@ -157,10 +202,13 @@ public class GeneratorRegistry {
                         + " generators registered: "
                         + generators.keySet());
             }
-            synchronized (this) {
-                if (running > 0) {
-                    wait();
+            lock.lock();
+            try {
+                if (running.get() > 0) {
+                    changed.await();
                 }
+            } finally {
+                lock.unlock();
             }
         }
         generatorTracking
@@ -175,29 +223,73 @@ public class GeneratorRegistry {
      * @return true, if successful
      * @throws InterruptedException the interrupted exception
      */
-    @SuppressWarnings({ "PMD.CollapsibleIfStatements" })
     public boolean awaitExhaustion(long timeout)
             throws InterruptedException {
-        synchronized (this) {
-            if (generators != null) {
-                if (running != generators.size()) {
-                    generatorTracking.severe(
-                        "Generator count doesn't match tracked.");
-                }
-            }
-            if (isExhausted()) {
-                return true;
-            }
-            if (generators != null) {
-                generatorTracking
-                    .fine(() -> "Waiting, generators: " + generators.keySet());
+        if (generators != null && running.get() != generators.size()) {
+            generatorTracking.severe(
+                "Generator count doesn't match tracked.");
+        }
+        if (isExhausted()) {
+            return true;
+        }
+        if (generators != null) {
+            generatorTracking
+                .fine(() -> "Waiting, generators: " + generators.keySet());
+        }
+        lock.lock();
+        try {
+            if (!isExhausted()) {
+                changed.await(timeout, TimeUnit.MILLISECONDS);
             }
-            wait(timeout);
-            if (generators != null) {
-                generatorTracking
-                    .fine(() -> "Waited, generators: " + generators.keySet());
+        } finally {
+            lock.unlock();
+        }
+        if (generators != null) {
+            generatorTracking
+                .fine(() -> "Waited, generators: " + generators.keySet());
+        }
+        return isExhausted();
+    }
+
+    /**
+     * An MBean interface for getting information about the
+     * registered generators.
+     */
+    public interface GeneratorRegistryMXBean {
+
+        /**
+         * The number of currently registered generators.
+         *
+         * @return the value
+         */
+        long getGenerators();
+
+        /**
+         * Indicates whether the keep alive thread is running.
+         *
+         * @return the value
+         */
+        boolean isKeepingAlive();
+    }
+
+    /**
+     * The MBean view.
+     */
+    private final class MBeanView implements GeneratorRegistryMXBean {
+
+        @Override
+        public long getGenerators() {
+            return running.get();
+        }
+
+        @Override
+        public boolean isKeepingAlive() {
+            lock.lock();
+            try {
+                return keepAlive != null;
+            } finally {
+                lock.unlock();
             }
-            return isExhausted();
         }
     }
 }
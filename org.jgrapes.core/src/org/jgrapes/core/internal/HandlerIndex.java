@@ -0,0 +1,409 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.ClassChannel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.HandlerScope;
+import org.jgrapes.core.NamedChannel;
+import org.jgrapes.core.NamedEvent;
+import org.jgrapes.core.Subchannel;
+
+/**
+ * An index of the handlers of a component tree. The index maps the 
+ * event criteria and channel criteria provided by the handlers' 
+ * scopes (see {@link HandlerScope#eventCriteria()} and
+ * {@link HandlerScope#channelCriteria()}) to the handlers.
+ * 
+ * The handlers for an event and channels are looked up as follows. 
+ * For class criteria, the event's class and its super types are used 
+ * as keys, because an event matches a class criterion if the 
+ * criterion is the event's class or one of its base classes. Other 
+ * event criteria (e.g. names) are looked up using the event's default
+ * criterion if the event uses the matching rules of 
+ * {@link NamedEvent} and skipped if it uses the rules of {@link Event}.
+ * Else they are checked individually.
+ * Channel criteria are looked up using the channel's default 
+ * criterion (and its super types if it is a class) and the
+ * broadcast criterion. If a channel uses an unknown way of matching 
+ * criteria, all channel criteria are checked individually.
+ * 
+ * The handlers found in this way are candidates only, they are 
+ * finally checked with {@link HandlerReference#handles}. The cost 
+ * of a lookup is therefore (roughly) proportional to the number of 
+ * matching handlers and not to the size of the tree.
+ * 
+ * The matching handlers are returned in the order of a depth-first
+ * traversal of the tree, so that handlers with the same priority
+ * are invoked in tree order. To this end, the handlers are numbered
+ * in tree order (see {@link HandlerReference#treeOrder}). Because
+ * attaching or detaching a subtree shifts the positions of all
+ * subsequent handlers, the numbers are recomputed when handlers are 
+ * collected after such a change.
+ * 
+ * The index is not thread-safe, it is only used while holding
+ * the lock on the component tree.
+ */
+@SuppressWarnings("PMD.LooseCoupling")
+/* default */ class HandlerIndex {
+
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final ClassValue<List<Class<?>>> superTypes
+        = new ClassValue<>() {
+            @Override
+            protected List<Class<?>> computeValue(Class<?> type) {
+                Set<Class<?>> result = new LinkedHashSet<>();
+                addSuperTypes(result, type);
+                return Collections.unmodifiableList(new ArrayList<>(result));
+            }
+        };
+
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final ClassValue<Boolean> matchesDefaultCriterion
+        = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                try {
+                    Class<?> declaring = type
+                        .getMethod("isEligibleFor", Object.class)
+                        .getDeclaringClass();
+                    return declaring == Channel.class
+                        || declaring == ClassChannel.class
+                        || declaring == NamedChannel.class
+                        || declaring == Component.class
+                        || declaring == ComponentProxy.class;
+                } catch (NoSuchMethodException e) {
+                    return false;
+                }
+            }
+        };
+
+    /** How events match criteria other than classes. */
+    private enum ValueMatching {
+        NONE, DEFAULT_CRITERION, UNKNOWN
+    }
+
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final ClassValue<ValueMatching> valueMatching
+        = new ClassValue<>() {
+            @Override
+            protected ValueMatching computeValue(Class<?> type) {
+                try {
+                    Class<?> declaring = type
+                        .getMethod("isEligibleFor", Object.class)
+                        .getDeclaringClass();
+                    if (declaring == Event.class) {
+                        return ValueMatching.NONE;
+                    }
+                    if (declaring == NamedEvent.class
+                        && type.getMethod("defaultCriterion")
+                            .getDeclaringClass() == NamedEvent.class) {
+                        return ValueMatching.DEFAULT_CRITERION;
+                    }
+                } catch (NoSuchMethodException e) { // NOPMD
+                    // Handled as unknown
+                }
+                return ValueMatching.UNKNOWN;
+            }
+        };
+
+    private final ComponentVertex root;
+    /** Event class criterion -> channel criterion -> handlers. */
+    private final Map<Class<?>, Map<Object, Set<HandlerReference>>> byClass
+        = new HashMap<>();
+    /** Other event criterion -> channel criterion -> handlers. */
+    private final Map<Object, Map<Object, Set<HandlerReference>>> byValue
+        = new HashMap<>();
+    /** Handlers with scopes that don't provide criteria. */
+    private final Set<HandlerReference> unindexed = identitySet();
+    /** Whether the handlers' tree order is up to date. */
+    private boolean ordered;
+
+    /**
+     * Creates a new index for the tree with the given root.
+     *
+     * @param root the root of the tree
+     */
+    /* default */ HandlerIndex(ComponentVertex root) {
+        this.root = root;
+    }
+
+    private static void addSuperTypes(Set<Class<?>> result, Class<?> type) {
+        if (type == null || !result.add(type)) {
+            return;
+        }
+        addSuperTypes(result, type.getSuperclass());
+        for (Class<?> iface : type.getInterfaces()) {
+            addSuperTypes(result, iface);
+        }
+    }
+
+    private static Set<HandlerReference> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Adds the handler to the index.
+     *
+     * @param handler the handler
+     */
+    /* default */ void add(HandlerReference handler) {
+        ordered = false;
+        var eventCriteria = handler.filter.eventCriteria();
+        var channelCriteria = handler.filter.channelCriteria();
+        if (eventCriteria.isEmpty() || channelCriteria.isEmpty()) {
+            unindexed.add(handler);
+            return;
+        }
+        for (Object eventCriterion : eventCriteria.get()) {
+            Map<Object, Set<HandlerReference>> byChannel;
+            if (eventCriterion instanceof Class) {
+                byChannel = byClass.computeIfAbsent(
+                    (Class<?>) eventCriterion, key -> new HashMap<>());
+            } else {
+                byChannel = byValue.computeIfAbsent(
+                    eventCriterion, key -> new HashMap<>());
+            }
+            for (Object channelCriterion : channelCriteria.get()) {
+                byChannel.computeIfAbsent(channelCriterion,
+                    key -> identitySet()).add(handler);
+            }
+        }
+    }
+
+    /**
+     * Removes the handler from the index.
+     *
+     * @param handler the handler
+     */
+    /* default */ void remove(HandlerReference handler) {
+        ordered = false;
+        var eventCriteria = handler.filter.eventCriteria();
+        var channelCriteria = handler.filter.channelCriteria();
+        if (eventCriteria.isEmpty() || channelCriteria.isEmpty()) {
+            unindexed.remove(handler);
+            return;
+        }
+        for (Object eventCriterion : eventCriteria.get()) {
+            Map<?, Map<Object, Set<HandlerReference>>> index
+                = eventCriterion instanceof Class ? byClass : byValue;
+            Map<Object, Set<HandlerReference>> byChannel
+                = index.get(eventCriterion);
+            if (byChannel == null) {
+                continue;
+            }
+            for (Object channelCriterion : channelCriteria.get()) {
+                Set<HandlerReference> handlers
+                    = byChannel.get(channelCriterion);
+                if (handlers != null) {
+                    handlers.remove(handler);
+                    if (handlers.isEmpty()) {
+                        byChannel.remove(channelCriterion);
+                    }
+                }
+            }
+            if (byChannel.isEmpty()) {
+                index.remove(eventCriterion);
+            }
+        }
+    }
+
+    /**
+     * Adds the handlers that handle the given event fired on
+     * the given channels to the result.
+     *
+     * @param result the result
+     * @param event the event
+     * @param channels the channels
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    /* default */ void collect(Collection<HandlerReference> result,
+            EventBase<?> event, Channel[] channels) {
+        Set<HandlerReference> candidates = identitySet();
+        candidates.addAll(unindexed);
+        for (Class<?> type : superTypes.get(event.getClass())) {
+            Map<Object, Set<HandlerReference>> byChannel = byClass.get(type);
+            if (byChannel != null) {
+                addCandidates(candidates, byChannel, channels);
+            }
+        }
+        if (!byValue.isEmpty()) {
+            addValueCandidates(candidates, event, channels);
+        }
+        List<HandlerReference> matching = new ArrayList<>();
+        for (HandlerReference handler : candidates) {
+            if (handler.handles(event, channels)) {
+                matching.add(handler);
+            }
+        }
+        if (matching.size() > 1) {
+            if (!ordered) {
+                int[] next = { 0 };
+                root.forEachHandler(
+                    handler -> handler.treeOrder = next[0]++);
+                ordered = true;
+            }
+            matching.sort(
+                Comparator.comparingInt(handler -> handler.treeOrder));
+        }
+        result.addAll(matching);
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    private void addValueCandidates(Set<HandlerReference> candidates,
+            EventBase<?> event, Channel[] channels) {
+        ValueMatching matching = valueMatching.get(event.getClass());
+        if (matching == ValueMatching.NONE) {
+            return;
+        }
+        if (matching == ValueMatching.DEFAULT_CRITERION) {
+            Map<Object, Set<HandlerReference>> byChannel
+                = byValue.get(event.defaultCriterion());
+            if (byChannel != null) {
+                addCandidates(candidates, byChannel, channels);
+            }
+            return;
+        }
+        // Unknown matching rules, check all criteria
+        for (var entry : byValue.entrySet()) {
+            if (event.isEligibleFor(entry.getKey())) {
+                addCandidates(candidates, entry.getValue(), channels);
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    private static void addCandidates(Set<HandlerReference> candidates,
+            Map<Object, Set<HandlerReference>> byChannel,
+            Channel[] channels) {
+        for (Channel channel : channels) {
+            if (!matchesByDefaultCriterion(channel)) {
+                // Unknown matching rules, check all criteria
+                for (var entry : byChannel.entrySet()) {
+                    if (channel.isEligibleFor(entry.getKey())) {
+                        candidates.addAll(entry.getValue());
+                    }
+                }
+                continue;
+            }
+            addAll(candidates, byChannel,
+                Channel.BROADCAST.defaultCriterion());
+            Object criterion = channel.defaultCriterion();
+            if (criterion instanceof Class) {
+                for (Class<?> type : superTypes.get((Class<?>) criterion)) {
+                    addAll(candidates, byChannel, type);
+                }
+            } else {
+                addAll(candidates, byChannel, criterion);
+            }
+        }
+    }
+
+    /**
+     * Checks if the criteria that the given channel is eligible for
+     * can be derived from its default criterion, i.e. if the channel
+     * uses the matching rules of the standard channel implementations.
+     *
+     * @param channel the channel
+     * @return the result
+     */
+    /* default */ static boolean matchesByDefaultCriterion(Channel channel) {
+        Channel matching = channel;
+        while (matching instanceof Subchannel) {
+            matching = ((Subchannel) matching).mainChannel();
+        }
+        return matching != null
+            && matchesDefaultCriterion.get(matching.getClass());
+    }
+
+    /**
+     * Checks if a handler with the given scope may handle an event of
+     * the given type fired on channels with the given default criteria,
+     * using the rules of the index. Only the criteria provided by the 
+     * scope are evaluated. If they are insufficient for deciding 
+     * (no criteria provided, criteria that aren't classes, channels
+     * with unknown matching rules), the result is `true`.
+     *
+     * @param scope the handler's scope
+     * @param eventType the event's class
+     * @param channelCriteria the channels' default criteria
+     * @param matchByCriterion for each channel, the result of
+     * {@link #matchesByDefaultCriterion(Channel)}
+     * @return the result
+     */
+    @SuppressWarnings({ "PMD.UseVarargs", "PMD.CognitiveComplexity" })
+    /* default */ static boolean mayHandle(HandlerScope scope,
+            Class<?> eventType, Object[] channelCriteria,
+            boolean[] matchByCriterion) {
+        var eventCriteria = scope.eventCriteria();
+        var handledChannels = scope.channelCriteria();
+        if (eventCriteria.isEmpty() || handledChannels.isEmpty()) {
+            return true;
+        }
+        boolean eventMatch = false;
+        for (Object criterion : eventCriteria.get()) {
+            if (!(criterion instanceof Class)
+                || ((Class<?>) criterion).isAssignableFrom(eventType)) {
+                eventMatch = true;
+                break;
+            }
+        }
+        if (!eventMatch) {
+            return false;
+        }
+        Object broadcast = Channel.BROADCAST.defaultCriterion();
+        for (int i = 0; i < channelCriteria.length; i++) {
+            if (!matchByCriterion[i]) {
+                return true;
+            }
+            Object channelCriterion = channelCriteria[i];
+            for (Object criterion : handledChannels.get()) {
+                if (criterion.equals(broadcast)
+                    || criterion.equals(channelCriterion)
+                    || criterion instanceof Class
+                        && channelCriterion instanceof Class
+                        && ((Class<?>) criterion)
+                            .isAssignableFrom((Class<?>) channelCriterion)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void addAll(Set<HandlerReference> candidates,
+            Map<Object, Set<HandlerReference>> byChannel, Object criterion) {
+        Set<HandlerReference> handlers = byChannel.get(criterion);
+        if (handlers != null) {
+            candidates.addAll(handlers);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jgrapes.core.ComponentType;
+import org.jgrapes.core.annotation.HandlerDefinition;
+import org.jgrapes.core.annotation.HandlerTable;
+
+/**
+ * A method of a component class that is annotated as handler. 
+ * The handler methods are determined once for each class and 
+ * cached. If a {@link HandlerTable} has been generated for the class,
+ * the methods are taken from the table, else they are looked up
+ * by reflection. 
+ * 
+ * A table is only used if each listed method exists and is annotated
+ * as handler, and if it lists all handler methods of the super class
+ * that haven't been overridden. The latter check uses the (cached)
+ * handler methods of the super class, which are in turn taken from 
+ * its table, if available. A table generated when compiling the
+ * class against a different version of a super class (e.g. from
+ * a library that has been updated since) is therefore detected
+ * and ignored without scanning all methods of the class.
+ */
+/* default */ final class HandlerMethod {
+
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final Logger logger
+        = Logger.getLogger(ComponentType.class.getPackage().getName());
+
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final ClassValue<List<HandlerMethod>> handlerMethods
+        = new ClassValue<>() {
+            @Override
+            protected List<HandlerMethod> computeValue(Class<?> type) {
+                return Collections.unmodifiableList(fromTable(type)
+                    .orElseGet(() -> fromReflection(type)));
+            }
+        };
+
+    private final Method method;
+    private final Annotation annotation;
+    private final HandlerDefinition.Evaluator evaluator;
+    private final HandlerTable.Invoker invoker;
+
+    private HandlerMethod(Method method, Annotation annotation,
+            HandlerDefinition.Evaluator evaluator,
+            HandlerTable.Invoker invoker) {
+        this.method = method;
+        this.annotation = annotation;
+        this.evaluator = evaluator;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Returns the handler methods of the given class.
+     *
+     * @param type the class
+     * @return the handler methods
+     */
+    /* default */ static List<HandlerMethod> forClass(Class<?> type) {
+        return handlerMethods.get(type);
+    }
+
+    /**
+     * Returns the method.
+     *
+     * @return the method
+     */
+    /* default */ Method method() {
+        return method;
+    }
+
+    /**
+     * Returns the handler annotation.
+     *
+     * @return the annotation
+     */
+    /* default */ Annotation annotation() {
+        return annotation;
+    }
+
+    /**
+     * Returns the evaluator for the handler annotation.
+     *
+     * @return the evaluator
+     */
+    /* default */ HandlerDefinition.Evaluator evaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Returns the invoker from a generated handler table.
+     *
+     * @return the invoker or `null` if the method was found by
+     * reflection
+     */
+    /* default */ HandlerTable.Invoker invoker() {
+        return invoker;
+    }
+
+    private static Optional<List<HandlerMethod>> fromTable(Class<?> type) {
+        Class<?> tableClass;
+        try {
+            tableClass = Class.forName(
+                type.getName() + HandlerTable.CLASS_NAME_SUFFIX, true,
+                type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+        try {
+            HandlerTable table = (HandlerTable) tableClass
+                .getDeclaredConstructor().newInstance();
+            List<HandlerMethod> result = new ArrayList<>();
+            for (var entry : table.entries()) {
+                if (!addHandlers(result, type.getMethod(entry.methodName(),
+                    entry.parameterTypes()), entry.invoker())) {
+                    return outdated(tableClass);
+                }
+            }
+            if (!listsInherited(type, result)) {
+                return outdated(tableClass);
+            }
+            return Optional.of(result);
+        } catch (NoSuchMethodException e) {
+            return outdated(tableClass);
+        } catch (ReflectiveOperationException | ClassCastException
+                | SecurityException e) {
+            logger.log(Level.WARNING, e, () -> "Cannot use handler table "
+                + tableClass.getName() + ", falling back to reflection.");
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<List<HandlerMethod>>
+            outdated(Class<?> tableClass) {
+        logger.warning(() -> "Handler table " + tableClass.getName()
+            + " does not match the class (out of date?),"
+            + " falling back to reflection.");
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if the handler methods obtained from the table include 
+     * all handler methods of the super class, unless they have been 
+     * overridden by a method that isn't a handler. Bridge methods 
+     * are skipped, the methods that they bridge to are checked.
+     *
+     * @param type the class
+     * @param listed the handler methods from the table
+     * @return the result
+     * @throws NoSuchMethodException if a method cannot be found
+     */
+    private static boolean listsInherited(Class<?> type,
+            List<HandlerMethod> listed) throws NoSuchMethodException {
+        Class<?> superclass = type.getSuperclass();
+        if (superclass == null) {
+            return true;
+        }
+        for (HandlerMethod inherited : forClass(superclass)) {
+            Method method = inherited.method();
+            if (method.isBridge() || isListed(listed, method)) {
+                continue;
+            }
+            if (type.getMethod(method.getName(), method.getParameterTypes())
+                .getDeclaringClass() == method.getDeclaringClass()) {
+                // Neither listed nor overridden
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isListed(List<HandlerMethod> listed,
+            Method method) {
+        for (HandlerMethod handler : listed) {
+            if (handler.method.getName().equals(method.getName())
+                && Arrays.equals(handler.method.getParameterTypes(),
+                    method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<HandlerMethod> fromReflection(Class<?> type) {
+        List<HandlerMethod> result = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            addHandlers(result, method, null);
+        }
+        return result;
+    }
+
+    private static boolean addHandlers(List<HandlerMethod> result,
+            Method method, HandlerTable.Invoker invoker) {
+        boolean added = false;
+        for (Annotation annotation : method.getDeclaredAnnotations()) {
+            HandlerDefinition hda = annotation.annotationType()
+                .getAnnotation(HandlerDefinition.class);
+            if (hda == null) {
+                continue;
+            }
+            result.add(new HandlerMethod(method, annotation,
+                CoreUtils.definitionEvaluator(hda), invoker));
+            added = true;
+        }
+        return added;
+    }
+}
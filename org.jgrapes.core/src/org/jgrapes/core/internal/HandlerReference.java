@@ -20,7 +20,9 @@ package org.jgrapes.core.internal;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jgrapes.core.Channel;
@@ -28,6 +30,7 @@ import org.jgrapes.core.ComponentType;
 import org.jgrapes.core.Eligible;
 import org.jgrapes.core.HandlerScope;
 import org.jgrapes.core.InvocationFilter;
+import org.jgrapes.core.annotation.HandlerTable;
 
 /**
  * A reference to a method that handles an event.
@@ -44,6 +47,13 @@ class HandlerReference implements Comparable<HandlerReference> {
     protected final boolean needsFiltering;
     protected MethodHandle method;
     private final int priority;
+    private final ComponentType component;
+    private final String methodName;
+    /** Statistics per event class, maintained by {@link DispatchMetrics}. */
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    /* default */ volatile Map<Class<?>, DispatchMetrics.Recorder> metrics;
+    /** Position in the component tree, maintained by {@link HandlerIndex}. */
+    /* default */ int treeOrder;
 
     /**
      * Create a new handler reference to a component's method that 
@@ -60,6 +70,8 @@ class HandlerReference implements Comparable<HandlerReference> {
         this.filter = filter;
         needsFiltering = filter instanceof InvocationFilter;
         this.priority = priority;
+        this.component = component;
+        methodName = method.getName();
         try {
             this.method = MethodHandles.lookup().unreflect(method);
             this.method = this.method.bindTo(component);
@@ -73,6 +85,25 @@ class HandlerReference implements Comparable<HandlerReference> {
         }
     }
 
+    /**
+     * Create a new handler reference that provides its own way
+     * of invoking the handler. The {@link #method} is not set.
+     * 
+     * @param component the component
+     * @param methodName the name of the method
+     * @param priority the handler's priority
+     * @param filter the filter
+     */
+    protected HandlerReference(ComponentType component, String methodName,
+            int priority, HandlerScope filter) {
+        super();
+        this.filter = filter;
+        needsFiltering = filter instanceof InvocationFilter;
+        this.priority = priority;
+        this.component = component;
+        this.methodName = methodName;
+    }
+
     @Override
     public int compareTo(HandlerReference other) {
         if (getPriority() < other.getPriority()) {
@@ -97,6 +128,24 @@ class HandlerReference implements Comparable<HandlerReference> {
         return filter.includes(event, channels);
     }
 
+    /**
+     * Returns the component that provides the handler.
+     *
+     * @return the component
+     */
+    /* default */ ComponentType component() {
+        return component;
+    }
+
+    /**
+     * Returns the name of the handler method.
+     *
+     * @return the name
+     */
+    /* default */ String methodName() {
+        return methodName;
+    }
+
     /**
      * @return the priority
      */
@@ -176,11 +225,198 @@ class HandlerReference implements Comparable<HandlerReference> {
         if (handlerTracking.isLoggable(Level.FINE)) {
             return new VerboseHandlerReference(
                 component, method, priority, filter);
-        } else {
+        }
+        switch (method.getParameterCount()) {
+        case 0:
+            return new NoParamHandlerReference(
+                component, method, priority, filter);
+        case 1:
+            return new EventParamHandlerReference(
+                component, method, priority, filter);
+        case 2:
+            return new ChannelParamHandlerReference(
+                component, method, priority, filter);
+        default:
             return new HandlerReference(component, method, priority, filter);
         }
     }
 
+    /**
+     * Create a new {@link HandlerReference} from the given values.
+     * If an invoker from a generated {@link HandlerTable} is
+     * available, the handler is invoked using the invoker instead
+     * of a method handle.
+     *
+     * @param component the component
+     * @param method the method
+     * @param priority the priority
+     * @param filter the filter
+     * @param invoker the invoker, may be `null`
+     * @return the handler reference
+     */
+    public static HandlerReference newRef(
+            ComponentType component, Method method, int priority,
+            HandlerScope filter, HandlerTable.Invoker invoker) {
+        if (invoker == null || handlerTracking.isLoggable(Level.FINE)) {
+            return newRef(component, method, priority, filter);
+        }
+        return new GeneratedHandlerReference(
+            component, method, priority, filter, invoker);
+    }
+
+    /**
+     * A handler reference for methods without parameters. The method
+     * handle is adapted to an exact type when the reference is created,
+     * so no type checks or conversions are necessary when invoking it.
+     */
+    private static final class NoParamHandlerReference
+            extends HandlerReference {
+
+        private final MethodHandle invoker;
+
+        private NoParamHandlerReference(ComponentType component,
+                Method method, int priority, HandlerScope filter) {
+            super(component, method, priority, filter);
+            invoker = this.method.asType(MethodType.methodType(void.class));
+        }
+
+        @Override
+        public void invoke(EventBase<?> event) throws Throwable {
+            if (needsFiltering
+                && !((InvocationFilter) filter).includes(event)) {
+                return;
+            }
+            invoker.invokeExact();
+        }
+    }
+
+    /**
+     * A handler reference for methods with the event as parameter.
+     */
+    private static final class EventParamHandlerReference
+            extends HandlerReference {
+
+        private final MethodHandle invoker;
+
+        private EventParamHandlerReference(ComponentType component,
+                Method method, int priority, HandlerScope filter) {
+            super(component, method, priority, filter);
+            invoker = this.method.asType(
+                MethodType.methodType(void.class, EventBase.class));
+        }
+
+        @Override
+        public void invoke(EventBase<?> event) throws Throwable {
+            if (needsFiltering
+                && !((InvocationFilter) filter).includes(event)) {
+                return;
+            }
+            invoker.invokeExact(event);
+        }
+    }
+
+    /**
+     * A handler reference for methods with the event and a channel
+     * as parameters. The type of the channel parameter is evaluated
+     * when the reference is created. If it is {@link Channel}, the
+     * handler is invoked for every channel without any further checks.
+     */
+    private static final class ChannelParamHandlerReference
+            extends HandlerReference {
+
+        private final MethodHandle invoker;
+        private final Class<?> channelParam;
+        private final boolean anyChannel;
+
+        private ChannelParamHandlerReference(ComponentType component,
+                Method method, int priority, HandlerScope filter) {
+            super(component, method, priority, filter);
+            invoker = this.method.asType(MethodType.methodType(
+                void.class, EventBase.class, Channel.class));
+            channelParam = this.method.type().parameterType(1);
+            anyChannel = channelParam == Channel.class;
+        }
+
+        @Override
+        public void invoke(EventBase<?> event) throws Throwable {
+            if (needsFiltering
+                && !((InvocationFilter) filter).includes(event)) {
+                return;
+            }
+            for (Channel channel : event.channels()) {
+                if (anyChannel || channelParam.isInstance(channel)) {
+                    event.invokedFor = channel;
+                    invoker.invokeExact(event, channel);
+                    event.invokedFor = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * A handler reference that uses an invoker from a generated
+     * {@link HandlerTable}. The invoker calls the method directly,
+     * so neither reflection nor a method handle is involved.
+     */
+    private static final class GeneratedHandlerReference
+            extends HandlerReference {
+
+        private final Method handler;
+        private final HandlerTable.Invoker invoker;
+        private final int parameterCount;
+        private final Class<?> channelParam;
+
+        private GeneratedHandlerReference(ComponentType component,
+                Method method, int priority, HandlerScope filter,
+                HandlerTable.Invoker invoker) {
+            super(component, method.getName(), priority, filter);
+            handler = method;
+            this.invoker = invoker;
+            parameterCount = method.getParameterCount();
+            channelParam = parameterCount == 2
+                ? method.getParameterTypes()[1]
+                : null;
+        }
+
+        @Override
+        public void invoke(EventBase<?> event) throws Throwable {
+            if (needsFiltering
+                && !((InvocationFilter) filter).includes(event)) {
+                return;
+            }
+            if (parameterCount < 2) {
+                invoker.invoke(component(), event, null);
+                return;
+            }
+            for (Channel channel : event.channels()) {
+                if (channelParam.isInstance(channel)) {
+                    event.invokedFor = channel;
+                    invoker.invoke(component(), event, channel);
+                    event.invokedFor = null;
+                }
+            }
+        }
+
+        @Override
+        protected String methodToString() {
+            return handler.toString();
+        }
+
+        /**
+         * There is no method handle to compare, so every reference
+         * is only equal to itself.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -243,9 +479,7 @@ class HandlerReference implements Comparable<HandlerReference> {
     public String toString() {
         StringBuilder builder = new StringBuilder(50);
         builder.append("Handler [");
-        if (method != null) {
-            builder.append("method=").append(methodToString()).append(", ");
-        }
+        builder.append("method=").append(methodToString()).append(", ");
         if (filter != null) {
             builder.append("filter=").append(filter).append(", ");
         }
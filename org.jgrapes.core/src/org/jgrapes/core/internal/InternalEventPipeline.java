@@ -18,6 +18,7 @@
 
 package org.jgrapes.core.internal;
 
+import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.Components.IdInfoProvider;
@@ -45,6 +46,19 @@ interface InternalEventPipeline extends IdInfoProvider {
      */
     <T extends Event<?>> T add(T event, Channel... channels);
 
+    /**
+     * Add several events to the end of the queue without any checking.
+     * Each event is sent on the channels returned by its
+     * {@link Event#channels()} method.
+     *
+     * @param events the events to process
+     */
+    default void addAll(Collection<? extends Event<?>> events) {
+        for (Event<?> event : events) {
+            add(event, event.channels());
+        }
+    }
+
     /**
      * Merge the events from the other event pipeline into this one.
      * 
@@ -75,4 +89,13 @@ interface InternalEventPipeline extends IdInfoProvider {
      * @throws InterruptedException
      */
     void awaitExhaustion() throws InterruptedException;
+
+    /**
+     * Returns the number of events with suspended handlers.
+     *
+     * @return the number of events
+     */
+    default int suspendedEvents() {
+        return 0;
+    }
 }
@@ -36,7 +36,6 @@ import org.jgrapes.core.InvocationFilter;
 class VerboseHandlerReference extends HandlerReference {
 
     private static AtomicLong invocationCounter = new AtomicLong(1);
-    private final ComponentType component;
     private final String handlerName;
 
     /**
@@ -48,7 +47,6 @@ class VerboseHandlerReference extends HandlerReference {
     public VerboseHandlerReference(ComponentType component, Method method,
             int priority, HandlerScope filter) {
         super(component, method, priority, filter);
-        this.component = component;
         handlerName = Components.objectName(component)
             + "." + method.getName();
     }
@@ -63,7 +61,7 @@ class VerboseHandlerReference extends HandlerReference {
         if (needsFiltering && !((InvocationFilter) filter).includes(event)) {
             return;
         }
-        if (component == ComponentTree.DUMMY_HANDLER) {
+        if (component() == ComponentTree.DUMMY_HANDLER) {
             reportInvocation(event, false);
             return;
         }
@@ -121,7 +119,7 @@ class VerboseHandlerReference extends HandlerReference {
             .append(Components
                 .objectId(ComponentTree.currentPipeline()))
             .append(": ").append(event);
-        if (component == ComponentTree.DUMMY_HANDLER) {
+        if (component() == ComponentTree.DUMMY_HANDLER) {
             builder.append(" (unhandled)");
         } else {
             builder.append(" >> ");
@@ -20,6 +20,11 @@ package org.jgrapes.core.test.basic;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.jgrapes.core.Components;
 import org.jgrapes.core.Components.Timer;
@@ -73,4 +78,40 @@ class SchedulerTest {
         Thread.sleep(Duration.between(Instant.now(), then).toMillis());
         assertTrue(hit1.get() && hit2.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMany() throws InterruptedException {
+        int count = 10_000;
+        var expired = ConcurrentHashMap.<Timer> newKeySet();
+        var allExpired = new CountDownLatch(count / 2);
+        var early = new AtomicBoolean(false);
+        List<Timer> timers = new ArrayList<>();
+        Instant startTime = Instant.now();
+        for (int i = 0; i < count; i++) {
+            timers.add(Components.schedule(timer -> {
+                if (Instant.now().isBefore(timer.scheduledFor())) {
+                    early.set(true);
+                }
+                expired.add(timer);
+                allExpired.countDown();
+            }, startTime.plusMillis(t2 + i % 100)));
+        }
+        // Cancel every second timer and advance the others
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                timers.get(i).cancel();
+            } else {
+                timers.get(i).reschedule(startTime.plusMillis(t1 + i % 100));
+            }
+        }
+        assertTrue(allExpired.await(t4, TimeUnit.MILLISECONDS));
+        // Give cancelled timers a chance to (wrongly) run
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(),
+            startTime.plusMillis(t3)).toMillis()));
+        assertEquals(count / 2, expired.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 != 0, expired.contains(timers.get(i)));
+        }
+        assertFalse(early.get());
+    }
+}
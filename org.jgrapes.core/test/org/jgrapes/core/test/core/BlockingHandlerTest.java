@@ -0,0 +1,170 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class BlockingHandlerTest {
+
+    public static class Slow extends Event<Integer> {
+    }
+
+    public static class Trigger extends Event<Integer> {
+    }
+
+    public static class App extends Component {
+
+        public EventPipeline other;
+
+        @org.jgrapes.core.annotation.Handler
+        public void onSlow(Slow event) throws InterruptedException {
+            Thread.sleep(50);
+            event.setResult(42);
+        }
+
+        @org.jgrapes.core.annotation.Handler
+        public void onTrigger(Trigger event) throws InterruptedException {
+            // Block until the other pipeline has handled the event
+            event.setResult(other.fire(new Slow()).get());
+        }
+    }
+
+    private int runTriggers(App app, int count) throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        app.other = app.newEventPipeline(executor);
+        EventPipeline pipeline = app.newEventPipeline(executor);
+        List<Trigger> triggers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            triggers.add(pipeline.fire(new Trigger()));
+        }
+        int sum = 0;
+        for (var trigger : triggers) {
+            sum += trigger.get();
+        }
+        executor.shutdown();
+        return sum;
+    }
+
+    @Test
+    void testNoPinning() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        List<RecordedEvent> pinned
+            = Collections.synchronizedList(new ArrayList<>());
+        try (var recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+            assertEquals(42 * 5, runTriggers(app, 5));
+            recording.stop();
+        }
+        assertTrue(pinned.stream().noneMatch(
+            event -> event.getStackTrace() != null && event.getStackTrace()
+                .getFrames().stream().anyMatch(frame -> frame.getMethod()
+                    .getType().getName().startsWith("org.jgrapes."))),
+            () -> "Pinned: " + pinned);
+    }
+
+    @Test
+    void testDiagnostics() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        Logger logger = Logger.getLogger("org.jgrapes.core.internal.blocking");
+        List<LogRecord> records
+            = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+                // Nothing to do
+            }
+
+            @Override
+            public void close() {
+                // Nothing to do
+            }
+        };
+        logger.addHandler(handler);
+        boolean useParent = logger.getUseParentHandlers();
+        logger.setUseParentHandlers(false);
+        boolean allowed = Components.blockingHandlersAllowed();
+        try {
+            Components.setBlockingHandlersAllowed(true);
+            runTriggers(app, 1);
+            assertTrue(records.isEmpty());
+            Components.setBlockingHandlersAllowed(false);
+            runTriggers(app, 1);
+            assertEquals(1, records.size());
+            assertEquals(Level.WARNING, records.get(0).getLevel());
+        } finally {
+            Components.setBlockingHandlersAllowed(allowed);
+            logger.removeHandler(handler);
+            logger.setUseParentHandlers(useParent);
+        }
+    }
+
+    @Test
+    void testTimedOutWaiters() throws InterruptedException {
+        // Never fired, never completed
+        Slow pending = new Slow();
+        List<WeakReference<Thread>> waited = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Thread thread = new Thread(() -> assertThrows(
+                TimeoutException.class,
+                () -> pending.get(1, TimeUnit.MILLISECONDS)));
+            thread.start();
+            thread.join();
+            waited.add(new WeakReference<>(thread));
+        }
+
+        // The event must not keep the threads that have stopped waiting
+        long deadline = System.currentTimeMillis() + 5000;
+        while (waited.stream().anyMatch(ref -> ref.get() != null)) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertFalse(pending.isDone());
+    }
+}
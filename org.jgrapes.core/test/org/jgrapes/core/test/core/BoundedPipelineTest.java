@@ -0,0 +1,163 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.EventPipeline.OverflowPolicy;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.HighWatermark;
+import org.jgrapes.core.events.LowWatermark;
+import org.jgrapes.core.events.Rejected;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class BoundedPipelineTest {
+
+    public static class Work extends Event<Void> {
+        public final int number;
+
+        public Work(int number) {
+            this.number = number;
+        }
+    }
+
+    public static class App extends Component {
+
+        public final CountDownLatch started = new CountDownLatch(1);
+        public final CountDownLatch gate = new CountDownLatch(1);
+        public final List<Integer> handled
+            = Collections.synchronizedList(new ArrayList<>());
+        public final List<Thread> threads
+            = Collections.synchronizedList(new ArrayList<>());
+        public final AtomicInteger high = new AtomicInteger();
+        public final AtomicInteger low = new AtomicInteger();
+        public final List<Event<?>> rejected
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onWork(Work event) throws InterruptedException {
+            if (event.number == 0) {
+                // Keep the pipeline busy until the test opens the gate
+                started.countDown();
+                gate.await();
+            }
+            handled.add(event.number);
+            threads.add(Thread.currentThread());
+        }
+
+        @Handler
+        public void onHigh(HighWatermark event) {
+            high.incrementAndGet();
+        }
+
+        @Handler
+        public void onLow(LowWatermark event) {
+            low.incrementAndGet();
+        }
+
+        @Handler
+        public void onRejected(Rejected event) {
+            rejected.add(event.event());
+        }
+    }
+
+    private App app;
+    private EventPipeline pipeline;
+    private List<Work> fired;
+
+    private void fillQueue(OverflowPolicy policy) throws InterruptedException {
+        app = new App();
+        Components.start(app);
+        pipeline = app.newEventPipeline(4, policy);
+        fired = new ArrayList<>();
+        fired.add(pipeline.fire(new Work(0)));
+        app.started.await();
+        for (int i = 1; i <= 4; i++) {
+            fired.add(pipeline.fire(new Work(i)));
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        app.gate.countDown();
+        pipeline.awaitExhaustion();
+        Components.awaitExhaustion();
+        assertEquals(1, app.high.get());
+        assertEquals(1, app.low.get());
+    }
+
+    @Test
+    void testReject() throws InterruptedException {
+        fillQueue(OverflowPolicy.REJECT);
+        Work fifth = pipeline.fire(new Work(5));
+        assertTrue(fifth.isCancelled());
+        assertTrue(fifth.isDone());
+        drain();
+        assertEquals(List.of(0, 1, 2, 3, 4), app.handled);
+        assertEquals(List.of(fifth), app.rejected);
+    }
+
+    @Test
+    void testDropOldest() throws InterruptedException {
+        fillQueue(OverflowPolicy.DROP_OLDEST);
+        pipeline.fire(new Work(5));
+        pipeline.fire(new Work(6));
+        assertTrue(fired.get(1).isCancelled());
+        assertTrue(fired.get(2).isCancelled());
+        drain();
+        assertEquals(List.of(0, 3, 4, 5, 6), app.handled);
+        assertTrue(app.rejected.isEmpty());
+    }
+
+    @Test
+    void testBlock() throws InterruptedException {
+        fillQueue(OverflowPolicy.BLOCK);
+        Thread producer = Thread.ofVirtual().start(() -> {
+            pipeline.fire(new Work(5));
+            pipeline.fire(new Work(6));
+        });
+        // Producer must be blocked while the queue is full
+        while (producer.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(), app.handled);
+        drain();
+        producer.join();
+        pipeline.awaitExhaustion();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), app.handled);
+    }
+
+    @Test
+    void testCallerRuns() throws InterruptedException {
+        fillQueue(OverflowPolicy.CALLER_RUNS);
+        pipeline.fire(new Work(5));
+        // Handled before the queued events
+        assertEquals(List.of(5), app.handled);
+        assertEquals(Thread.currentThread(), app.threads.get(0));
+        drain();
+        assertEquals(List.of(5, 0, 1, 2, 3, 4), app.handled);
+    }
+}
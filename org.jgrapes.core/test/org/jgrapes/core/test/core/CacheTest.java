@@ -18,10 +18,15 @@
 
 package org.jgrapes.core.test.core;
 
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.Component;
 import org.jgrapes.core.Components;
+import org.jgrapes.core.Eligible;
 import org.jgrapes.core.Event;
+import org.jgrapes.core.HandlerScope;
 import org.jgrapes.core.annotation.Handler;
 import org.jgrapes.core.events.Start;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +37,19 @@ class CacheTest {
     class App extends Component {
     }
 
+    // Only invoked when handlers are collected, not for cached handlers
+    private static final AtomicInteger eligibilityChecks
+        = new AtomicInteger();
+
     class TestEvent extends Event<Void> {
+        @Override
+        public boolean isEligibleFor(Object criterion) {
+            eligibilityChecks.incrementAndGet();
+            return super.isEligibleFor(criterion);
+        }
+    }
+
+    class OtherEvent extends Event<Void> {
     }
 
     public static class Comp extends Component {
@@ -49,6 +66,80 @@ class CacheTest {
         }
     }
 
+    public static class OtherComp extends Component {
+
+        public int otherEvents = 0;
+
+        public OtherComp(Channel channel) {
+            super(channel);
+        }
+
+        @Handler
+        public void onOther(OtherEvent event) {
+            otherEvents += 1;
+        }
+    }
+
+    /**
+     * A scope that checks the actual type of the event, like the
+     * scope of a request handler.
+     */
+    static class TypeCheckingScope implements HandlerScope {
+
+        private final Object channelCriterion;
+        private final boolean withCriteria;
+
+        public TypeCheckingScope(Object channelCriterion,
+                boolean withCriteria) {
+            this.channelCriterion = channelCriterion;
+            this.withCriteria = withCriteria;
+        }
+
+        @Override
+        public boolean includes(Eligible event, Eligible[] channels) {
+            if (!(event instanceof TestEvent)) {
+                return false;
+            }
+            for (Eligible channel : channels) {
+                if (channel.isEligibleFor(channelCriterion)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Optional<Set<Object>> eventCriteria() {
+            return withCriteria ? Optional.of(Set.of(TestEvent.class))
+                : Optional.empty();
+        }
+
+        @Override
+        public Optional<Set<Object>> channelCriteria() {
+            return withCriteria ? Optional.of(Set.of(channelCriterion))
+                : Optional.empty();
+        }
+    }
+
+    public static class TypeCheckingComp extends Component {
+
+        public int testEvents = 0;
+
+        public TypeCheckingComp(Channel channel, boolean withCriteria)
+                throws NoSuchMethodException {
+            super(channel);
+            Components.manager(this).addHandler(
+                TypeCheckingComp.class.getMethod("onTest", TestEvent.class),
+                new TypeCheckingScope(channel.defaultCriterion(),
+                    withCriteria),
+                0);
+        }
+
+        public void onTest(TestEvent event) {
+            testEvents += 1;
+        }
+    }
+
     @Test
     void testUpdateCache() throws InterruptedException {
         // App with component
@@ -78,4 +169,85 @@ class CacheTest {
         assertEquals(2, comp2.testEvents);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void testUnrelatedChanges() throws InterruptedException {
+        App app = new App();
+        Comp comp = app.attach(new Comp(app));
+        app.fire(new Start());
+        app.fire(new TestEvent(), app);
+        app.fire(new OtherEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(1, comp.testEvents);
+        eligibilityChecks.set(0);
+        app.fire(new TestEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(2, comp.testEvents);
+        assertEquals(0, eligibilityChecks.get());
+
+        // Attaching a component that handles other events only must
+        // neither change the handling of the test event nor remove
+        // the cached handlers for it.
+        OtherComp other = app.attach(new OtherComp(app));
+        app.fire(new TestEvent(), app);
+        app.fire(new OtherEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(3, comp.testEvents);
+        assertEquals(1, other.otherEvents);
+        assertEquals(0, eligibilityChecks.get());
+
+        // Detaching it again must not change it either.
+        other.detach();
+        app.fire(new TestEvent(), app);
+        app.fire(new OtherEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(4, comp.testEvents);
+        assertEquals(1, other.otherEvents);
+        assertEquals(0, eligibilityChecks.get());
+
+        // Attaching a component that handles the test event does
+        Comp another = app.attach(new Comp(app));
+        app.fire(new TestEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(5, comp.testEvents);
+        assertEquals(1, another.testEvents);
+        assertTrue(eligibilityChecks.get() > 0);
+    }
+
+    private void attachAndDetachTypeChecking(boolean withCriteria)
+            throws InterruptedException, NoSuchMethodException {
+        App app = new App();
+        Comp comp = app.attach(new Comp(app));
+        app.fire(new Start());
+        app.fire(new TestEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(1, comp.testEvents);
+
+        // The cached handlers must be updated although the scope
+        // only matches the actual event.
+        TypeCheckingComp checking
+            = app.attach(new TypeCheckingComp(app, withCriteria));
+        app.fire(new TestEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(2, comp.testEvents);
+        assertEquals(1, checking.testEvents);
+
+        checking.detach();
+        app.fire(new TestEvent(), app);
+        Components.awaitExhaustion();
+        assertEquals(3, comp.testEvents);
+        assertEquals(1, checking.testEvents);
+    }
+
+    @Test
+    void testTypeCheckingScope()
+            throws InterruptedException, NoSuchMethodException {
+        attachAndDetachTypeChecking(true);
+    }
+
+    @Test
+    void testTypeCheckingScopeWithoutCriteria()
+            throws InterruptedException, NoSuchMethodException {
+        attachAndDetachTypeChecking(false);
+    }
+}
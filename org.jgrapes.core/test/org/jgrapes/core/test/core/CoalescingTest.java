@@ -0,0 +1,116 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class CoalescingTest {
+
+    public static class Block extends Event<Void> {
+    }
+
+    public static class Changed extends Event<Integer> {
+        public final String what;
+        public int count = 1;
+
+        public Changed(String what) {
+            this.what = what;
+        }
+
+        @Override
+        public Object coalesceKey() {
+            return what;
+        }
+
+        @Override
+        protected void coalesce(Event<Integer> later) {
+            count += ((Changed) later).count;
+        }
+    }
+
+    public static class NotCoalesced extends Event<Void> {
+    }
+
+    public static class App extends Component {
+
+        public final CountDownLatch started = new CountDownLatch(1);
+        public final CountDownLatch gate = new CountDownLatch(1);
+        public final List<String> handled
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onBlock(Block event) throws InterruptedException {
+            started.countDown();
+            gate.await();
+        }
+
+        @Handler
+        public void onChanged(Changed event) {
+            handled.add(event.what + event.count);
+            event.setResult(event.count);
+        }
+
+        @Handler
+        public void onNotCoalesced(NotCoalesced event) {
+            handled.add("not");
+        }
+    }
+
+    @Test
+    void testCoalesce() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        EventPipeline pipeline = app.newEventPipeline();
+        pipeline.fire(new Block());
+        app.started.await();
+
+        List<Changed> changes = new ArrayList<>();
+        for (String what : List.of("a", "b", "a", "a", "b")) {
+            changes.add(pipeline.fire(new Changed(what)));
+        }
+        pipeline.fire(new NotCoalesced());
+        pipeline.fire(new NotCoalesced());
+        // Fired on another channel
+        pipeline.fire(new Changed("a"), app.channel(), app);
+        app.gate.countDown();
+        for (Changed change : changes) {
+            change.get();
+        }
+        pipeline.awaitExhaustion();
+        assertEquals(List.of("a3", "b2", "not", "not", "a1"), app.handled);
+        assertEquals(3, changes.get(3).get());
+        assertEquals(2, changes.get(4).get());
+
+        // Not coalesced while being handled
+        app.handled.clear();
+        pipeline.fire(new Changed("a")).get();
+        pipeline.fire(new Changed("a")).get();
+        assertEquals(List.of("a1", "a1"), app.handled);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class CompletableFutureTest {
+
+    public static class Square extends Event<Integer> {
+        public final int value;
+
+        public Square(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class Twice extends Event<Integer> {
+        public final int value;
+
+        public Twice(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class App extends Component {
+
+        @Handler
+        public void onSquare(Square event) {
+            event.setResult(event.value * event.value);
+            // Square is completed only after Twice has completed
+            fire(new Twice(event.value));
+        }
+
+        @Handler
+        public void onTwice(Twice event) {
+            event.setResult(event.value * 2);
+        }
+    }
+
+    @Test
+    void testFutures() throws InterruptedException, ExecutionException {
+        App app = new App();
+        Components.start(app);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(app.fire(new Square(i)).toCompletableFuture()
+                .thenApply(result -> result + 1));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .get();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * i + 1, futures.get(i).get());
+        }
+
+        // Already completed
+        Square done = new Square(3);
+        app.fire(done).get();
+        CompletableFuture<Integer> future = done.toCompletableFuture();
+        assertTrue(future.isDone());
+        assertEquals(9, future.get());
+
+        // Futures are independent of each other
+        Square other = new Square(4);
+        CompletableFuture<Integer> first = other.toCompletableFuture();
+        CompletableFuture<Integer> second = other.toCompletableFuture();
+        first.cancel(false);
+        app.fire(other);
+        assertEquals(16, second.get());
+        assertTrue(first.isCancelled());
+        assertTrue(other.isDone());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.Expired;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+
+    public static class Block extends Event<Void> {
+    }
+
+    public static class Work extends Event<Integer> {
+        public final int number;
+
+        public Work(int number) {
+            this.number = number;
+        }
+    }
+
+    public static class App extends Component {
+
+        public final CountDownLatch started = new CountDownLatch(1);
+        public final CountDownLatch gate = new CountDownLatch(1);
+        public final List<Integer> handled
+            = Collections.synchronizedList(new ArrayList<>());
+        public final List<Event<?>> expired
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onBlock(Block event) throws InterruptedException {
+            started.countDown();
+            gate.await();
+        }
+
+        @Handler
+        public void onWork(Work event) {
+            handled.add(event.number);
+            event.setResult(event.number);
+        }
+
+        @Handler
+        public void onExpired(Expired event) {
+            // Not yet completed, completes after this event
+            assertFalse(event.event().isDone());
+            expired.add(event.event());
+        }
+    }
+
+    @Test
+    void testExpiry() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        app.fire(new Block());
+        app.started.await();
+        Work relative = new Work(1);
+        app.fire(relative.setTimeToLive(Duration.ofMillis(10)));
+        Work absolute = new Work(2);
+        app.fire(absolute.setDeadline(Instant.now().minusMillis(1)));
+        Work timely = new Work(3);
+        app.fire(timely.setTimeToLive(Duration.ofMinutes(1)));
+        Work unlimited = new Work(4);
+        app.fire(unlimited);
+        Thread.sleep(20);
+        app.gate.countDown();
+        Components.awaitExhaustion();
+
+        assertEquals(List.of(3, 4), app.handled);
+        assertEquals(List.of(relative, absolute), app.expired);
+        for (Work work : List.of(relative, absolute)) {
+            assertTrue(work.isDone());
+            assertTrue(work.isExpired());
+            assertTrue(work.isCancelled());
+            assertNull(work.get());
+        }
+        assertFalse(timely.isExpired());
+        assertEquals(3, timely.get());
+        assertFalse(unlimited.isExpired());
+    }
+}
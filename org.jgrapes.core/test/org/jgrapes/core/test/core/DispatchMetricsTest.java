@@ -0,0 +1,108 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.internal.DispatchMetrics;
+import org.jgrapes.core.internal.DispatchMetrics.DispatchMetricsMXBean;
+import org.jgrapes.core.internal.DispatchMetrics.Metrics;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class DispatchMetricsTest {
+
+    public static class Fast extends Event<Void> {
+    }
+
+    public static class Slow extends Event<Void> {
+    }
+
+    public static class App extends Component {
+
+        @Handler
+        public void onFast(Fast event) {
+            // Nothing to do
+        }
+
+        @Handler
+        public void onSlow(Slow event) throws InterruptedException {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void testMetrics()
+            throws InterruptedException, MalformedObjectNameException {
+        App app = new App();
+        Components.start(app);
+        Components.awaitExhaustion();
+        DispatchMetrics.reset();
+        DispatchMetrics.setEnabled(true);
+        try {
+            for (int i = 0; i < 10; i++) {
+                app.fire(new Fast());
+            }
+            app.fire(new Slow()).get();
+            Components.awaitExhaustion();
+        } finally {
+            DispatchMetrics.setEnabled(false);
+        }
+
+        DispatchMetricsMXBean mbean = JMX.newMXBeanProxy(
+            ManagementFactory.getPlatformMBeanServer(),
+            new ObjectName("org.jgrapes.core:type=DispatchMetrics"),
+            DispatchMetricsMXBean.class);
+        assertFalse(mbean.isEnabled());
+
+        // The slow handler comes first
+        List<Metrics> handlers = mbean.getHandlerMetrics();
+        assertEquals(2, handlers.size());
+        assertEquals("onSlow", handlers.get(0).getHandler());
+        assertEquals(Components.objectName(app),
+            handlers.get(0).getComponent());
+        assertEquals(1, handlers.get(0).getCount());
+        assertTrue(handlers.get(0).getMax() >= 50_000);
+        assertTrue(handlers.get(0).getMedian() >= 50_000);
+        assertEquals("onFast", handlers.get(1).getHandler());
+        assertEquals(Fast.class.getName(), handlers.get(1).getEvent());
+        assertEquals(10, handlers.get(1).getCount());
+
+        // Queue waits and completion are recorded per event class
+        assertEquals(2, mbean.getQueueWaitMetrics().size());
+        List<Metrics> completions = mbean.getCompletionMetrics();
+        assertEquals(2, completions.size());
+        Metrics slow = completions.stream()
+            .filter(m -> m.getEvent().equals(Slow.class.getName()))
+            .findFirst().get();
+        assertEquals(1, slow.getCount());
+        assertTrue(slow.getTotal() >= 50_000);
+
+        mbean.reset();
+        assertTrue(mbean.getHandlerMetrics().isEmpty());
+        assertTrue(mbean.getCompletionMetrics().isEmpty());
+    }
+}
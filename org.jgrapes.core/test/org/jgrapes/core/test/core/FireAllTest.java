@@ -0,0 +1,110 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.NamedChannel;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class FireAllTest {
+
+    private static final Channel MAIN = new NamedChannel("main");
+    private static final Channel OTHER = new NamedChannel("other");
+
+    public static class Numbered extends Event<Integer> {
+        public final int number;
+
+        public Numbered(int number, Channel... channels) {
+            super(channels);
+            this.number = number;
+        }
+    }
+
+    public static class App extends Component {
+
+        public final List<Integer> handled
+            = Collections.synchronizedList(new ArrayList<>());
+        public final List<Integer> handledOther
+            = Collections.synchronizedList(new ArrayList<>());
+
+        public App() {
+            super(MAIN);
+        }
+
+        @Handler
+        public void onNumbered(Numbered event) {
+            handled.add(event.number);
+            event.setResult(event.number);
+        }
+
+        @Handler(namedChannels = "other")
+        public void onOther(Numbered event) {
+            handledOther.add(event.number);
+        }
+    }
+
+    @Test
+    void testFireAll() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        EventPipeline pipeline = app.newEventPipeline();
+
+        // Events without channels get the pipeline's default channel,
+        // events with channels keep them.
+        List<Numbered> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(i % 10 == 0 ? new Numbered(i, OTHER) : new Numbered(i));
+        }
+        pipeline.fireAll(events);
+        pipeline.awaitExhaustion();
+        for (var event : events) {
+            assertEquals(event.number % 10 == 0 ? OTHER : MAIN,
+                event.channels()[0]);
+        }
+        assertEquals(90, app.handled.size());
+        assertEquals(10, app.handledOther.size());
+        for (int i = 1; i < app.handled.size(); i++) {
+            assertTrue(app.handled.get(i - 1) < app.handled.get(i));
+        }
+        assertEquals(5, events.get(5).get());
+
+        // Explicit channels override the events' channels
+        events.clear();
+        for (int i = 0; i < 10; i++) {
+            events.add(new Numbered(i));
+        }
+        pipeline.fireAll(events, OTHER);
+        pipeline.awaitExhaustion();
+        assertEquals(20, app.handledOther.size());
+        assertEquals(90, app.handled.size());
+
+        // Nothing to do
+        pipeline.fireAll(Collections.emptyList());
+        pipeline.awaitExhaustion();
+    }
+}
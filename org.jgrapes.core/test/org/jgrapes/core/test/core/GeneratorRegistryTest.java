@@ -0,0 +1,77 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.internal.GeneratorRegistry;
+import org.jgrapes.core.internal.GeneratorRegistry.GeneratorRegistryMXBean;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class GeneratorRegistryTest {
+
+    public static class Burst extends Event<Void> {
+    }
+
+    public static class App extends Component {
+
+        public int handled;
+
+        @Handler
+        public void onBurst(Burst event) {
+            handled += 1;
+        }
+    }
+
+    @Test
+    void testBursts()
+            throws InterruptedException, MalformedObjectNameException {
+        // Make sure that the registry exists
+        GeneratorRegistry.instance();
+        GeneratorRegistryMXBean registry = JMX.newMXBeanProxy(
+            ManagementFactory.getPlatformMBeanServer(),
+            new ObjectName("org.jgrapes.core:type=GeneratorRegistry"),
+            GeneratorRegistryMXBean.class);
+
+        App app = new App();
+        Components.start(app);
+        for (int i = 0; i < 100; i++) {
+            app.fire(new Burst());
+            Components.awaitExhaustion();
+            assertEquals(0, registry.getGenerators());
+        }
+        assertEquals(100, app.handled);
+
+        // Keep alive thread terminates eventually
+        Instant giveUp = Instant.now().plus(Duration.ofSeconds(5));
+        while (registry.isKeepingAlive() && Instant.now().isBefore(giveUp)) {
+            Thread.sleep(50);
+        }
+        assertFalse(registry.isKeepingAlive());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.NamedChannel;
+import org.jgrapes.core.NamedEvent;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class HandlerIndexTest {
+
+    public static class Ping extends Event<Void> {
+    }
+
+    public static class SpecialPing extends Ping {
+    }
+
+    public static class Worker extends Component {
+
+        public final List<String> handled
+            = Collections.synchronizedList(new ArrayList<>());
+
+        public Worker() {
+            super(Channel.SELF);
+        }
+
+        @Handler
+        public void onPing(Ping event) {
+            handled.add("ping");
+        }
+
+        @Handler(namedEvents = "named", namedChannels = "named")
+        public void onNamed(NamedEvent<Void> event) {
+            handled.add("named");
+        }
+
+        @Handler(dynamic = true)
+        public void onDynamic(Ping event) {
+            handled.add("dynamic");
+        }
+    }
+
+    public static class App extends Component {
+    }
+
+    @Test
+    void testIndexed() throws InterruptedException {
+        App app = new App();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            workers.add(app.attach(new Worker()));
+        }
+        Components.start(app);
+
+        // Worker's channel, derived event class
+        app.fire(new SpecialPing(), workers.get(50)).get();
+        assertEquals(List.of("ping"), workers.get(50).handled);
+        assertTrue(workers.get(49).handled.isEmpty());
+
+        // Broadcast and named criteria
+        app.fire(new Ping(), Channel.BROADCAST).get();
+        app.fire(new NamedEvent<Void>("named"), new NamedChannel("named"))
+            .get();
+        for (Worker worker : workers) {
+            assertTrue(worker.handled.contains("ping"));
+            assertTrue(worker.handled.contains("named"));
+        }
+
+        // Detached handlers are removed
+        Worker detached = workers.get(0);
+        detached.detach();
+        Components.awaitExhaustion();
+        detached.handled.clear();
+        app.fire(new Ping(), Channel.BROADCAST).get();
+        assertTrue(detached.handled.isEmpty());
+        assertEquals(2, workers.get(1).handled.stream()
+            .filter("ping"::equals).count());
+
+        // Dynamic handler added after the handlers have been cached
+        Worker worker = workers.get(10);
+        worker.handled.clear();
+        app.fire(new Ping(), worker).get();
+        Handler.Evaluator.add(worker, "onDynamic", worker);
+        app.fire(new Ping(), worker).get();
+        assertEquals(List.of("ping", "ping", "dynamic"), worker.handled);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class InlineDispatchTest {
+
+    public static class Step extends Event<Void> {
+        public final String name;
+
+        public Step(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class App extends Component {
+
+        public final List<String> handled
+            = Collections.synchronizedList(new ArrayList<>());
+
+        public final CountDownLatch gate = new CountDownLatch(1);
+
+        @Handler
+        public void onStep(Step event) throws InterruptedException {
+            if ("gate".equals(event.name)) {
+                // Keep the processor busy until all initial events are queued
+                gate.await();
+                return;
+            }
+            handled.add(event.name);
+            switch (event.name) {
+            case "a":
+                fire(new Step("b"));
+                fire(new Step("c"));
+                break;
+            case "b":
+                fire(new Step("d"));
+                break;
+            case "c":
+                fire(new Step("e"));
+                fire(new Step("f"));
+                break;
+            case "p":
+                // Queue is empty, dispatched inline if enabled
+                fire(new Step("q"));
+                fire(new Step("r"));
+                break;
+            case "q":
+                fire(new Step("s"));
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private List<String> run(boolean inline, String... initial)
+            throws InterruptedException {
+        boolean enabled = Components.inlineDispatch();
+        try {
+            Components.setInlineDispatch(inline);
+            App app = new App();
+            Components.start(app);
+            EventPipeline pipeline = app.newEventPipeline();
+            pipeline.fire(new Step("gate"), app);
+            for (String name : initial) {
+                pipeline.fire(new Step(name), app);
+            }
+            app.gate.countDown();
+            pipeline.awaitExhaustion();
+            Components.awaitExhaustion();
+            return app.handled;
+        } finally {
+            Components.setInlineDispatch(enabled);
+        }
+    }
+
+    @Test
+    void testOrder() throws InterruptedException {
+        List<String> queued = run(false, "a", "x");
+        assertEquals(List.of("a", "x", "b", "c", "d", "e", "f"), queued);
+        assertEquals(queued, run(true, "a", "x"));
+        queued = run(false, "p");
+        assertEquals(List.of("p", "q", "r", "s"), queued);
+        assertEquals(queued, run(true, "p"));
+    }
+}
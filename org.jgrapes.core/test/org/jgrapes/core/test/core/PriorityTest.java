@@ -18,6 +18,7 @@
 
 package org.jgrapes.core.test.core;
 
+import org.jgrapes.core.Channel;
 import org.jgrapes.core.Component;
 import org.jgrapes.core.Components;
 import org.jgrapes.core.Event;
@@ -59,6 +60,23 @@ public class PriorityTest {
 
     }
 
+    public static class TreeOrderHandler extends Component {
+
+        private final StringBuilder result;
+        private final String name;
+
+        public TreeOrderHandler(StringBuilder result, String name) {
+            super(Channel.BROADCAST);
+            this.result = result;
+            this.name = name;
+        }
+
+        @Handler(events = Start.class)
+        public void onStart(Event<?> evt) {
+            result.append(name);
+        }
+    }
+
     @Test
     public void testComplete() throws InterruptedException {
         PrioritisedHandlers app = new PrioritisedHandlers();
@@ -67,4 +85,30 @@ public class PriorityTest {
         Components.awaitExhaustion();
     }
 
+    @Test
+    public void testTreeOrder() throws InterruptedException {
+        // Created in reverse order of the tree's depth-first traversal
+        StringBuilder result = new StringBuilder();
+        var grandchild = new TreeOrderHandler(result, "c");
+        var second = new TreeOrderHandler(result, "b");
+        var first = new TreeOrderHandler(result, "a");
+        var root = new TreeOrderHandler(result, "r");
+        root.attach(first);
+        root.attach(second);
+        first.attach(grandchild);
+        Components.start(root);
+        Components.awaitExhaustion();
+        assertEquals("racb", result.toString());
+
+        // Changes of the tree are reflected in the order
+        first.attach(new TreeOrderHandler(result, "d"));
+        second.detach();
+        root.attach(new TreeOrderHandler(result, "e"));
+        Components.awaitExhaustion();
+        result.setLength(0);
+        root.fire(new Start(), Channel.BROADCAST);
+        Components.awaitExhaustion();
+        assertEquals("racde", result.toString());
+    }
+
 }
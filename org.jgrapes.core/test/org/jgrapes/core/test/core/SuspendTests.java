@@ -18,12 +18,22 @@
 
 package org.jgrapes.core.test.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jgrapes.core.Component;
 import org.jgrapes.core.Components;
 import org.jgrapes.core.Event;
 import org.jgrapes.core.EventPipeline;
 import org.jgrapes.core.NamedEvent;
 import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.internal.DispatchMetrics;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -89,6 +99,27 @@ public class SuspendTests {
         }
     }
 
+    public static class Poll extends Event<Void> {
+    }
+
+    public static class PollApp extends Component {
+
+        public final List<Poll> parked
+            = Collections.synchronizedList(new ArrayList<>());
+        public final AtomicInteger resumed = new AtomicInteger();
+
+        @Handler(priority = 100)
+        public void onPoll(Poll event) {
+            event.suspendHandling();
+            parked.add(event);
+        }
+
+        @Handler
+        public void onPollResumed(Poll event) {
+            resumed.incrementAndGet();
+        }
+    }
+
     @Test
     public void testSuspend() throws InterruptedException {
         TestApp app = new TestApp();
@@ -103,4 +134,48 @@ public class SuspendTests {
         assertEquals("1, A1, 2, 3, A2, 4, A3, 4a, 5", app.sequence);
     }
 
+    @Test
+    public void testManySuspended()
+            throws InterruptedException, ExecutionException {
+        final int count = 10_000;
+        PollApp app = new PollApp();
+        Components.start(app);
+        EventPipeline pipeline = app.newEventPipeline();
+        long suspendedBefore = DispatchMetrics.suspendedEvents();
+        for (int i = 0; i < count; i++) {
+            pipeline.fire(new Poll(), app);
+        }
+        pipeline.awaitExhaustion();
+        assertEquals(count, app.parked.size());
+        assertEquals(count, pipeline.suspendedEvents());
+        assertEquals(suspendedBefore + count,
+            DispatchMetrics.suspendedEvents());
+
+        // Resume concurrently, each event twice (the second resume
+        // may happen after the event has completed)
+        ExecutorService resumers = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int offset = i % 2;
+            results.add(resumers.submit(() -> {
+                for (int j = offset; j < count; j += 2) {
+                    app.parked.get(j).resumeHandling();
+                }
+            }));
+        }
+        resumers.shutdown();
+        assertTrue(resumers.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> result : results) {
+            // Fails if resuming has thrown an exception
+            result.get();
+        }
+        for (Poll poll : app.parked) {
+            poll.get();
+        }
+        pipeline.awaitExhaustion();
+        assertEquals(count, app.resumed.get());
+        assertEquals(0, pipeline.suspendedEvents());
+        assertEquals(suspendedBefore, DispatchMetrics.suspendedEvents());
+    }
+
 }
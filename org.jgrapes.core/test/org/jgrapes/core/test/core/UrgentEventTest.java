@@ -0,0 +1,92 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.annotation.Urgent;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class UrgentEventTest {
+
+    public static class Data extends Event<Void> {
+        public final String name;
+
+        public Data(String name) {
+            this.name = name;
+        }
+    }
+
+    @Urgent
+    public static class Control extends Data {
+        public Control(String name) {
+            super(name);
+        }
+    }
+
+    public static class DerivedControl extends Control {
+        public DerivedControl(String name) {
+            super(name);
+        }
+    }
+
+    public static class App extends Component {
+
+        public final CountDownLatch started = new CountDownLatch(1);
+        public final CountDownLatch gate = new CountDownLatch(1);
+        public final List<String> handled
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onData(Data event) throws InterruptedException {
+            if ("block".equals(event.name)) {
+                started.countDown();
+                gate.await();
+            }
+            handled.add(event.name);
+        }
+    }
+
+    @Test
+    void testOvertaking() throws InterruptedException {
+        App app = new App();
+        Components.start(app);
+        EventPipeline pipeline = app.newEventPipeline();
+        pipeline.fire(new Data("block"));
+        app.started.await();
+        pipeline.fire(new Data("d1"));
+        pipeline.fire(new Data("d2"));
+        pipeline.fire(new Control("c1"));
+        pipeline.fire(new Data("d3"));
+        pipeline.fire(new DerivedControl("c2"));
+        pipeline.fireAll(List.of(new Data("d4"), new Control("c3")));
+        app.gate.countDown();
+        pipeline.awaitExhaustion();
+        assertEquals(List.of("block", "c1", "c2", "c3", "d1", "d2", "d3", "d4"),
+            app.handled);
+    }
+}
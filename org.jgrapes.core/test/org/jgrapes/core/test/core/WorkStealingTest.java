@@ -0,0 +1,104 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.core.test.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.EventPipeline;
+import org.jgrapes.core.annotation.Handler;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class WorkStealingTest {
+
+    private static final int EVENTS = 1000;
+
+    public static class Numbered extends Event<Void> {
+        public final int pipeline;
+        public final int number;
+
+        public Numbered(int pipeline, int number) {
+            this.pipeline = pipeline;
+            this.number = number;
+        }
+    }
+
+    public static class App extends Component {
+
+        public final List<Numbered> handled
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onNumbered(Numbered event) {
+            handled.add(event);
+        }
+    }
+
+    @Test
+    void testOrderAndFairness() throws InterruptedException {
+        ExecutorService executor = Components.newWorkStealingExecutorService(1);
+        App app = new App();
+        Components.start(app);
+        EventPipeline first = app.newEventPipeline(executor);
+        EventPipeline second = app.newEventPipeline(executor);
+
+        // Keep the only worker busy until all events have been fired
+        CountDownLatch fired = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                fired.await();
+            } catch (InterruptedException e) {
+                // Ignored
+            }
+        });
+        for (int i = 0; i < EVENTS; i++) {
+            first.fire(new Numbered(0, i));
+            second.fire(new Numbered(1, i));
+        }
+        fired.countDown();
+        first.awaitExhaustion();
+        second.awaitExhaustion();
+        Components.awaitExhaustion();
+
+        // Events from each pipeline have been handled in order
+        assertEquals(2 * EVENTS, app.handled.size());
+        int[] expected = new int[2];
+        int lastOfFirst = -1;
+        int firstOfSecond = -1;
+        for (int i = 0; i < app.handled.size(); i++) {
+            Numbered event = app.handled.get(i);
+            assertEquals(expected[event.pipeline]++, event.number);
+            if (event.pipeline == 0) {
+                lastOfFirst = i;
+            } else if (firstOfSecond < 0) {
+                firstOfSecond = i;
+            }
+        }
+
+        // The pipelines have shared the worker
+        assertTrue(firstOfSecond < lastOfFirst);
+        executor.shutdown();
+    }
+}
@@ -28,6 +28,7 @@ import java.net.UnknownHostException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -57,6 +58,7 @@ import org.jgrapes.core.Components;
 import org.jgrapes.core.EventPipeline;
 import org.jgrapes.core.annotation.Handler;
 import org.jgrapes.core.annotation.HandlerDefinition.ChannelReplacements;
+import org.jgrapes.core.events.Expired;
 import org.jgrapes.core.internal.EventProcessor;
 import org.jgrapes.http.events.ProtocolSwitchAccepted;
 import org.jgrapes.http.events.Request;
@@ -69,6 +71,7 @@ import org.jgrapes.io.events.Closed;
 import org.jgrapes.io.events.Input;
 import org.jgrapes.io.events.Output;
 import org.jgrapes.io.events.Purge;
+import org.jgrapes.io.util.ByteBufferArena;
 import org.jgrapes.io.util.LinkedIOSubchannel;
 import org.jgrapes.io.util.ManagedBuffer;
 import org.jgrapes.io.util.ManagedBufferPool;
@@ -103,6 +106,7 @@ public class HttpServer extends Component {
     private int matchLevels = 1;
     private boolean acceptNoSni;
     private int applicationBufferSize = -1;
+    private Duration requestTimeToLive;
 
     /**
      * Denotes the network channel in handler annotations.
@@ -227,6 +231,32 @@ public class HttpServer extends Component {
         return acceptNoSni;
     }
 
+    /**
+     * Sets the time to live of the {@link Request.In} events
+     * (see {@link org.jgrapes.core.Event#setTimeToLive(Duration)}).
+     * Requests that have not been taken from the queue when the time 
+     * has passed are answered with "503 Service Unavailable" instead
+     * of being handled. This avoids handling requests that the 
+     * client has probably given up on during periods of overload.
+     * Defaults to `null`, i.e. requests don't expire.
+     * 
+     * @param requestTimeToLive the time to live or `null`
+     * @return the http server for easy chaining
+     */
+    public HttpServer setRequestTimeToLive(Duration requestTimeToLive) {
+        this.requestTimeToLive = requestTimeToLive;
+        return this;
+    }
+
+    /**
+     * Returns the time to live of the {@link Request.In} events.
+     * 
+     * @return the time to live or `null` if not set
+     */
+    public Duration requestTimeToLive() {
+        return requestTimeToLive;
+    }
+
     /**
      * Creates a new downstream connection as {@link LinkedIOSubchannel} 
      * of the network connection, a {@link HttpRequestDecoder} and a
@@ -377,6 +407,22 @@ public class HttpServer extends Component {
             appChannel, HttpStatus.NOT_IMPLEMENTED);
     }
 
+    /**
+     * Sends "503 Service Unavailable" if a request has not been 
+     * handled because it has expired (see 
+     * {@link #setRequestTimeToLive(Duration)}).
+     *
+     * @param event the event
+     * @param appChannel the application channel
+     */
+    @Handler
+    public void onExpired(Expired event, IOSubchannel appChannel) {
+        if (event.event() instanceof Request.In requestEvent) {
+            ResponseCreationSupport.sendResponse(requestEvent.httpRequest(),
+                appChannel, 503, "Service Unavailable");
+        }
+    }
+
     /**
      * Provides a fallback handler for an OPTIONS request with asterisk. Simply
      * responds with "OK".
@@ -471,11 +517,8 @@ public class HttpServer extends Component {
             // delivered in independent events. Therefore provide some
             // additional buffers.
             final int bufSize = bufferSize;
-            byteBufferPool = new ManagedBufferPool<>(ManagedBuffer::new,
-                () -> {
-                    return ByteBuffer.allocate(bufSize);
-                }, 2, 100)
-                    .setName(channelName + ".downstream.byteBuffers");
+            byteBufferPool = ByteBufferArena.heap().newPool(bufSize, 2, 100)
+                .setName(channelName + ".downstream.byteBuffers");
             charBufferPool = new ManagedBufferPool<>(ManagedBuffer::new,
                 () -> {
                     return CharBuffer.allocate(bufSize);
@@ -580,7 +623,8 @@ public class HttpServer extends Component {
                 }
                 try {
                     downPipeline.fire(Request.In.fromHttpRequest(httpRequest,
-                        secure, matchLevels), this);
+                        secure, matchLevels).setTimeToLive(requestTimeToLive),
+                        this);
                 } catch (URISyntaxException e) {
                     ResponseCreationSupport.sendResponse(httpRequest, this, 400,
                         "Bad Request");
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jgrapes.core.Channel;
@@ -310,6 +311,18 @@ public @interface RequestHandler {
                 }
             }
 
+            @Override
+            public Optional<Set<Object>> eventCriteria() {
+                return Optional
+                    .of(Collections.unmodifiableSet(handledEventTypes));
+            }
+
+            @Override
+            public Optional<Set<Object>> channelCriteria() {
+                return Optional
+                    .of(Collections.unmodifiableSet(handledChannels));
+            }
+
             @Override
             @SuppressWarnings({ "PMD.CognitiveComplexity" })
             public boolean includes(Eligible event, Eligible[] channels) {
@@ -0,0 +1,141 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2016, 2017  Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.http.test;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.text.ParseException;
+import java.util.concurrent.ExecutionException;
+import org.jdrupes.httpcodec.protocols.http.HttpConstants.HttpStatus;
+import org.jdrupes.httpcodec.protocols.http.HttpField;
+import org.jdrupes.httpcodec.protocols.http.HttpResponse;
+import org.jdrupes.httpcodec.types.MediaType;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.events.Stop;
+import org.jgrapes.http.annotation.RequestHandler;
+import org.jgrapes.http.events.Request;
+import org.jgrapes.http.events.Response;
+import org.jgrapes.io.IOSubchannel;
+import org.jgrapes.io.events.Output;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that request handlers attached to or detached from a running
+ * server are taken into account for subsequent requests.
+ */
+public class LateHandlerTest {
+
+    public static class TestServer extends BasicTestServer {
+
+        public TestServer() throws Exception {
+            super(Request.In.Get.class);
+        }
+
+    }
+
+    private static TestServer server;
+
+    public static class ContentProvider extends Component {
+
+        public int invocations = 0;
+
+        public ContentProvider(Channel componentChannel) {
+            super(componentChannel);
+        }
+
+        @RequestHandler(patterns = "/late")
+        public void getLate(Request.In.Get event, IOSubchannel channel)
+                throws ParseException {
+            invocations += 1;
+
+            final HttpResponse response = event.httpRequest().response().get();
+            response.setStatus(HttpStatus.OK);
+            response.setHasPayload(true);
+            response.setField(HttpField.CONTENT_TYPE,
+                MediaType.builder().setType("text", "plain")
+                    .setParameter("charset", "utf-8").build());
+            fire(new Response(response), channel);
+            try {
+                fire(Output.from("Late!".getBytes("utf-8"), true), channel);
+            } catch (UnsupportedEncodingException e) {
+                // Supported by definition
+            }
+            event.setResult(true);
+            event.stop();
+        }
+    }
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = new TestServer();
+        Components.start(server);
+    }
+
+    @AfterClass
+    public static void stopServer() throws InterruptedException {
+        server.fire(new Stop(), Channel.BROADCAST);
+        Components.awaitExhaustion();
+        Components.checkAssertions();
+    }
+
+    private String getLate() throws IOException, InterruptedException,
+            ExecutionException, URISyntaxException {
+        URL url = new URI("http", null, "localhost", server.getPort(),
+            "/late", null, null).toURL();
+        URLConnection conn = url.openConnection();
+        conn.setConnectTimeout(1000);
+        conn.setReadTimeout(1000);
+        try (BufferedReader br = new BufferedReader(
+            new InputStreamReader(conn.getInputStream(), "utf-8"))) {
+            return br.lines().findFirst().get();
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testAttachAndDetach()
+            throws IOException, InterruptedException, ExecutionException,
+            URISyntaxException {
+        // Handlers for the request are collected without the provider
+        assertNull(getLate());
+
+        ContentProvider provider
+            = server.attach(new ContentProvider(server.channel()));
+        assertEquals("Late!", getLate());
+        assertEquals(1, provider.invocations);
+
+        provider.detach();
+        assertNull(getLate());
+        assertEquals(1, provider.invocations);
+    }
+
+}
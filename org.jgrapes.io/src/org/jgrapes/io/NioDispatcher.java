@@ -18,12 +18,26 @@
 
 package org.jgrapes.io;
 
+import java.beans.ConstructorProperties;
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
 import org.jgrapes.core.Component;
 import org.jgrapes.core.Components;
 import org.jgrapes.core.annotation.Handler;
@@ -35,43 +49,78 @@ import org.jgrapes.io.events.NioRegistration;
  * A helper component that provides the central hub for non blocking
  * I/O components. Exactly one {@code NioDispatcher} must exist in
  * any tree with {@link NioHandler} components. 
+ * 
+ * The dispatcher uses several {@link Selector}s, each with its own 
+ * thread. A new registration is assigned to the selector with the 
+ * least registered keys. All operations for a registered channel
+ * are therefore handled by the same thread, but operations for
+ * different channels may be handled concurrently.
+ * 
+ * Statistics about the selectors are available with
+ * {@link #selectorStatistics()} and from an MXBean that is 
+ * registered while the dispatcher is running.
  */
 @SuppressWarnings("PMD.AvoidSynchronizedStatement")
-public class NioDispatcher extends Component implements Runnable {
+public class NioDispatcher extends Component {
 
-    private final Selector selector;
-    private Thread runner;
-    private final Object selectorGate = new Object();
+    private final SelectorLoop[] loops;
+    private ObjectName mbeanName;
 
     /**
-     * Creates a new Dispatcher.
+     * Creates a new Dispatcher with a selector for each available
+     * processor.
      * 
      * @throws IOException if an I/O exception occurred
      */
     public NioDispatcher() throws IOException {
-        selector = Selector.open();
+        this(Runtime.getRuntime().availableProcessors());
     }
 
     /**
-     * Starts this dispatcher. A dispatcher has an associated thread that
-     * keeps it running.
+     * Creates a new Dispatcher with the given number of selectors.
+     * 
+     * @param selectors the number of selectors
+     * @throws IOException if an I/O exception occurred
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public NioDispatcher(int selectors) throws IOException {
+        if (selectors < 1) {
+            throw new IllegalArgumentException(
+                "At least one selector is required.");
+        }
+        loops = new SelectorLoop[selectors];
+        try {
+            for (int i = 0; i < selectors; i++) {
+                loops[i] = new SelectorLoop(i);
+            }
+        } catch (IOException e) {
+            for (SelectorLoop loop : loops) {
+                if (loop != null) {
+                    loop.selector.close();
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts this dispatcher. A dispatcher has a thread for each
+     * selector that keeps it running.
      * 
      * @param event the event
      */
     @Handler
     public void onStart(Start event) {
         synchronized (this) {
-            if (runner != null && !runner.isInterrupted()) {
-                return;
+            for (SelectorLoop loop : loops) {
+                loop.start();
             }
-            runner = (Components.useVirtualThreads() ? Thread.ofVirtual()
-                : Thread.ofPlatform()).name(Components.simpleObjectName(this))
-                    .start(this);
+            registerMBean();
         }
     }
 
     /**
-     * Stops the thread that is associated with this dispatcher.
+     * Stops the threads that are associated with this dispatcher.
      * 
      * @param event the event
      * @throws InterruptedException if the execution is interrupted
@@ -79,6 +128,120 @@ public class NioDispatcher extends Component implements Runnable {
     @Handler(priority = -10_000)
     public void onStop(Stop event) throws InterruptedException {
         synchronized (this) {
+            for (SelectorLoop loop : loops) {
+                loop.stop();
+            }
+            unregisterMBean();
+        }
+    }
+
+    /**
+     * Handle the NIO registration. The channel is registered with
+     * the selector that has the least registered keys. Registrations
+     * that have been assigned to a selector but have not been
+     * completed yet are taken into account, so that concurrent
+     * registrations are distributed as well.
+     *
+     * @param event the event
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Handler
+    public void onNioRegistration(NioRegistration event)
+            throws IOException {
+        SelectorLoop target = loops[0];
+        int least = target.load();
+        for (int i = 1; i < loops.length && least > 0; i++) {
+            int load = loops[i].load();
+            if (load < least) {
+                target = loops[i];
+                least = load;
+            }
+        }
+        target.pending.incrementAndGet();
+        try {
+            event.setResult(new Registration(target.register(event)));
+        } finally {
+            target.pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns statistics about the selectors used by this dispatcher.
+     *
+     * @return the statistics, one entry per selector
+     */
+    public List<SelectorStatistics> selectorStatistics() {
+        List<SelectorStatistics> result = new ArrayList<>(loops.length);
+        for (SelectorLoop loop : loops) {
+            result.add(loop.statistics());
+        }
+        return result;
+    }
+
+    private SelectorLoop loopFor(Selector selector) {
+        for (SelectorLoop loop : loops) {
+            if (loop.selector == selector) {
+                return loop;
+            }
+        }
+        throw new IllegalArgumentException(
+            "Key is not registered with this dispatcher.");
+    }
+
+    /**
+     * A selector together with the thread that handles its events.
+     */
+    private final class SelectorLoop implements Runnable {
+
+        private final int index;
+        private final Selector selector;
+        private final Object selectorGate = new Object();
+        /** Registrations assigned to the selector, but not completed. */
+        private final AtomicInteger pending = new AtomicInteger();
+        /** Tasks to be run by the runner, see {@link #runOnSelector}. */
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private Thread runner;
+        // Only modified by the runner
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile long selects;
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile long busyNanos;
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile long maxBusyNanos;
+
+        private SelectorLoop(int index) throws IOException {
+            this.index = index;
+            selector = Selector.open();
+        }
+
+        /**
+         * Returns the number of keys registered with the selector.
+         * Cancelled keys are counted until the next selection.
+         */
+        private int keys() {
+            return selector.keys().size();
+        }
+
+        /**
+         * Returns the number of registered keys plus the number of
+         * pending registrations.
+         */
+        private int load() {
+            return keys() + pending.get();
+        }
+
+        private void start() {
+            if (runner != null && !runner.isInterrupted()) {
+                return;
+            }
+            runner = (Components.useVirtualThreads() ? Thread.ofVirtual()
+                : Thread.ofPlatform())
+                    .name(Components.simpleObjectName(NioDispatcher.this)
+                        + "/" + index)
+                    .start(this);
+        }
+
+        private void stop() throws InterruptedException {
             if (runner == null) {
                 return;
             }
@@ -93,62 +256,82 @@ public class NioDispatcher extends Component implements Runnable {
             }
             runner = null;
         }
-    }
 
-    /**
-     * Invoked once by the thread associated with the dispatcher. Handles
-     * all events from the underlying {@link Selector}.  
-     */
-    @Override
-    @SuppressWarnings({ "PMD.EmptyCatchBlock", "PMD.EmptyControlStatement",
-        "PMD.AvoidCatchingGenericException" })
-    public void run() {
-        try {
-            registerAsGenerator();
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    selector.select();
-                    Set<SelectionKey> selected = selector.selectedKeys();
-                    for (SelectionKey key : selected) {
-                        ((NioHandler) key.attachment())
-                            .handleOps(key.readyOps());
-                    }
-                    selected.clear();
-                    synchronized (selectorGate) {
-                        // Delay next iteration if another thread has the lock.
-                        // "Find bugs" complains, but this is really okay.
+        /**
+         * Invoked once by the thread associated with the selector. 
+         * Handles all events from the {@link Selector}.  
+         */
+        @Override
+        @SuppressWarnings({ "PMD.EmptyCatchBlock",
+            "PMD.EmptyControlStatement", "PMD.AvoidCatchingGenericException" })
+        public void run() {
+            try {
+                registerAsGenerator();
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        runTasks();
+                        selector.select();
+                        long started = System.nanoTime();
+                        Set<SelectionKey> selected = selector.selectedKeys();
+                        for (SelectionKey key : selected) {
+                            ((NioHandler) key.attachment())
+                                .handleOps(key.readyOps());
+                        }
+                        selected.clear();
+                        recordSelect(System.nanoTime() - started);
+                        synchronized (selectorGate) {
+                            // Delay next iteration if another thread has
+                            // the lock. "Find bugs" complains, but this is
+                            // really okay.
+                        }
+                    } catch (InterruptedIOException | InterruptedException
+                            | Error e) {
+                        break;
+                    } catch (Throwable e) {
+                        // Ignore anything else, this loop is crucial.
                     }
-                } catch (InterruptedIOException | InterruptedException
-                        | Error e) {
-                    break;
-                } catch (Throwable e) {
-                    // Ignore anything else, this loop is crucial.
                 }
+            } finally {
+                unregisterAsGenerator();
             }
-        } finally {
-            unregisterAsGenerator();
         }
-    }
 
-    /**
-     * Handle the NIO registration.
-     *
-     * @param event the event
-     * @throws IOException Signals that an I/O exception has occurred.
-     */
-    @Handler
-    public void onNioRegistration(NioRegistration event)
-            throws IOException {
-        @SuppressWarnings("PMD.CloseResource")
-        SelectableChannel channel = event.ioChannel();
-        channel.configureBlocking(false);
-        SelectionKey key;
-        synchronized (selectorGate) {
-            selector.wakeup(); // make sure selector isn't blocking
-            key = channel.register(
-                selector, event.ops(), event.handler());
-        }
-        event.setResult(new Registration(key));
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void runOnSelector(Runnable task) {
+            tasks.add(task);
+            selector.wakeup(); // make sure the task is run
+        }
+
+        private void recordSelect(long nanos) {
+            selects += 1;
+            busyNanos += nanos;
+            if (nanos > maxBusyNanos) {
+                maxBusyNanos = nanos;
+            }
+        }
+
+        private SelectionKey register(NioRegistration event)
+                throws IOException {
+            @SuppressWarnings("PMD.CloseResource")
+            SelectableChannel channel = event.ioChannel();
+            channel.configureBlocking(false);
+            synchronized (selectorGate) {
+                selector.wakeup(); // make sure selector isn't blocking
+                return channel.register(
+                    selector, event.ops(), event.handler());
+            }
+        }
+
+        private SelectorStatistics statistics() {
+            return new SelectorStatistics(index, keys(), selects, busyNanos,
+                maxBusyNanos);
+        }
     }
 
     /**
@@ -157,6 +340,7 @@ public class NioDispatcher extends Component implements Runnable {
     public class Registration extends NioRegistration.Registration {
 
         private final SelectionKey key;
+        private final SelectorLoop loop;
 
         /**
          * Instantiates a new registration.
@@ -166,15 +350,157 @@ public class NioDispatcher extends Component implements Runnable {
         public Registration(SelectionKey key) {
             super();
             this.key = key;
+            loop = loopFor(key.selector());
         }
 
         @Override
         public void updateInterested(int ops) {
-            synchronized (selectorGate) {
-                selector.wakeup(); // make sure selector isn't blocking
+            synchronized (loop.selectorGate) {
+                loop.selector.wakeup(); // make sure selector isn't blocking
                 key.interestOps(ops);
             }
         }
+
+        @Override
+        public void runOnSelector(Runnable task) {
+            loop.runOnSelector(task);
+        }
     }
 
+    /**
+     * Statistics about a selector.
+     */
+    public static class SelectorStatistics {
+        private final int index;
+        private final int keys;
+        private final long selects;
+        private final long busyTime;
+        private final long maxBusyTime;
+
+        /**
+         * Instantiates new statistics.
+         *
+         * @param index the index of the selector
+         * @param keys the number of registered keys
+         * @param selects the number of selections
+         * @param busyTime the total time spent handling the selected 
+         * keys in nanoseconds
+         * @param maxBusyTime the maximum time spent handling the 
+         * selected keys of a single selection in nanoseconds
+         */
+        @ConstructorProperties({ "index", "keys", "selects", "busyTime",
+            "maxBusyTime" })
+        public SelectorStatistics(int index, int keys, long selects,
+                long busyTime, long maxBusyTime) {
+            this.index = index;
+            this.keys = keys;
+            this.selects = selects;
+            this.busyTime = busyTime;
+            this.maxBusyTime = maxBusyTime;
+        }
+
+        /**
+         * The index of the selector.
+         *
+         * @return the value
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * The number of keys registered with the selector.
+         *
+         * @return the value
+         */
+        public int getKeys() {
+            return keys;
+        }
+
+        /**
+         * The number of selections.
+         *
+         * @return the value
+         */
+        public long getSelects() {
+            return selects;
+        }
+
+        /**
+         * The total time spent handling the selected keys 
+         * in nanoseconds.
+         *
+         * @return the value
+         */
+        public long getBusyTime() {
+            return busyTime;
+        }
+
+        /**
+         * The maximum time spent handling the keys selected 
+         * by a single selection in nanoseconds.
+         *
+         * @return the value
+         */
+        public long getMaxBusyTime() {
+            return maxBusyTime;
+        }
+    }
+
+    /**
+     * An MBean interface for getting information about the
+     * dispatcher's selectors.
+     */
+    public interface NioDispatcherMXBean {
+
+        /**
+         * Statistics about the selectors.
+         *
+         * @return the statistics
+         */
+        List<SelectorStatistics> getSelectors();
+    }
+
+    /**
+     * The MBean view.
+     */
+    @SuppressWarnings("PMD.PublicMemberInNonPublicType")
+    private final class MBeanView implements NioDispatcherMXBean {
+
+        @Override
+        public List<SelectorStatistics> getSelectors() {
+            return selectorStatistics();
+        }
+    }
+
+    private void registerMBean() {
+        if (mbeanName != null) {
+            return;
+        }
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.jgrapes.io:type="
+                + NioDispatcher.class.getSimpleName() + ",name="
+                + ObjectName.quote(Components.objectName(this)));
+            mbs.registerMBean(new MBeanView(), name);
+            mbeanName = name;
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException
+                | MBeanRegistrationException | NotCompliantMBeanException e) {
+            // Have to live with that
+        }
+    }
+
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private void unregisterMBean() {
+        if (mbeanName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                .unregisterMBean(mbeanName);
+        } catch (MBeanRegistrationException | InstanceNotFoundException e) {
+            // Nothing to do about it
+        }
+        mbeanName = null;
+    }
 }
@@ -37,12 +37,22 @@ import org.jgrapes.io.util.ManagedBuffer;
  * from {@link Buffer} as short-cuts for invoking
  * `data().`*method()*.
  * 
+ * Because I/O events are created at a high rate, instances of
+ * {@link Input} and {@link Output} created by their factory methods
+ * can be recycled after completion (see {@link #setRecycling(boolean)}).
+ * 
  * @param <T> the type of data used in this event
  */
+@SuppressWarnings("PMD.AvoidUsingVolatile")
 public abstract class IOEvent<T extends Buffer> extends Event<Void> {
 
+    private static volatile boolean recycling
+        = Boolean.getBoolean("jgrapes.recycleIOEvents");
+
     private ManagedBuffer<T> buffer;
-    private final boolean eor;
+    private boolean eor;
+    private IOEventPool<?> pool;
+    private boolean recyclable;
 
     /**
      * Instantiates a new IO event.
@@ -55,6 +65,62 @@ public abstract class IOEvent<T extends Buffer> extends Event<Void> {
         this.eor = endOfRecord;
     }
 
+    /**
+     * Checks if recycling of I/O events is enabled.
+     *
+     * @return the result
+     * @see #setRecycling(boolean)
+     */
+    public static boolean recycling() {
+        return recycling;
+    }
+
+    /**
+     * Enables or disables the recycling of I/O events. The initial
+     * value is taken from the system property `jgrapes.recycleIOEvents`
+     * and defaults to `false`.
+     * 
+     * If enabled, the factory methods of {@link Input} and
+     * {@link Output} return recycled instances where available.
+     * Events created by them are kept for reuse after completion
+     * only if they have been marked as recyclable by the code that
+     * fires them (see {@link Input#recyclable()} and
+     * {@link Output#recyclable()}) and neither a completion event
+     * has been added nor a thread has waited for their completion.
+     * Events that are not marked, e.g. because the code that fires
+     * them waits for their completion with {@link #get()}, are never
+     * reused. Recycling must only be enabled if no component keeps
+     * a reference to a handled event (rather than to its data)
+     * after the event has been handled.
+     *
+     * @param enabled the new value
+     */
+    public static void setRecycling(boolean enabled) {
+        recycling = enabled;
+    }
+
+    /**
+     * Initializes a newly created or a recycled event. If a pool is 
+     * given, the event is returned to it upon completion.
+     *
+     * @param buffer the buffer
+     * @param endOfRecord the end of record flag
+     * @param pool the pool or `null`
+     */
+    /* default */ void reuse(ManagedBuffer<T> buffer, boolean endOfRecord,
+            IOEventPool<?> pool) {
+        this.buffer = buffer;
+        this.eor = endOfRecord;
+        this.pool = pool;
+    }
+
+    /**
+     * Marks the event as recyclable.
+     */
+    /* default */ void markRecyclable() {
+        recyclable = true;
+    }
+
     /**
      * Get the managed buffer with the data from this event.
      * 
@@ -97,6 +163,30 @@ public abstract class IOEvent<T extends Buffer> extends Event<Void> {
         buffer = null;
     }
 
+    /**
+     * Returns the event to the pool that it has been taken from
+     * (if any), provided that it has been marked as recyclable.
+     */
+    @Override
+    protected void recycle() {
+        if (pool != null && recyclable && buffer == null) {
+            var origin = pool;
+            reset();
+            origin.offer(this);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void reset() {
+        super.reset();
+        buffer = null;
+        pool = null;
+        recyclable = false;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,82 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.events;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of completed {@link IOEvent}s that can be reused.
+ * Events that do not fit in the pool are left to the garbage 
+ * collector.
+ * 
+ * Events are usually created by one thread (e.g. a selector thread)
+ * and completed by another (the thread handling the event), so
+ * a pool per thread would not work. The pool is therefore shared,
+ * but uses a lock-free queue, so that neither creating nor 
+ * completing events is ever blocked by another thread.
+ *
+ * @param <E> the event type
+ */
+/* default */ final class IOEventPool<E extends IOEvent<?>> {
+
+    /** The default number of events kept per event type. */
+    /* default */ static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Queue<E> pooled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param capacity the maximum number of pooled events
+     */
+    /* default */ IOEventPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retrieves an event from the pool.
+     *
+     * @return the event or `null` if the pool is empty
+     */
+    /* default */ E poll() {
+        E event = pooled.poll();
+        if (event != null) {
+            size.decrementAndGet();
+        }
+        return event;
+    }
+
+    /**
+     * Returns an event to the pool. The event must have been reset.
+     *
+     * @param event the event
+     */
+    @SuppressWarnings("unchecked")
+    /* default */ void offer(IOEvent<?> event) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return;
+        }
+        pooled.offer((E) event);
+    }
+}
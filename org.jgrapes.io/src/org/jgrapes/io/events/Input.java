@@ -30,10 +30,28 @@ import org.jgrapes.io.util.ManagedBuffer;
  */
 public final class Input<T extends Buffer> extends IOEvent<T> {
 
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final IOEventPool<Input<?>> pool
+        = new IOEventPool<>(IOEventPool.DEFAULT_CAPACITY);
+
     private Input(ManagedBuffer<T> buffer, boolean endOfRecord) {
         super(buffer, endOfRecord);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <B extends Buffer> Input<B> create(
+            ManagedBuffer<B> buffer, boolean endOfRecord) {
+        if (!recycling()) {
+            return new Input<>(buffer, endOfRecord);
+        }
+        Input<B> event = (Input<B>) pool.poll();
+        if (event == null) {
+            event = new Input<>(buffer, endOfRecord);
+        }
+        event.reuse(buffer, endOfRecord, pool);
+        return event;
+    }
+
     /**
      * Create a new event with the given buffer. The buffer must
      * have been prepared for invoking `get`-methods.
@@ -43,7 +61,7 @@ public final class Input<T extends Buffer> extends IOEvent<T> {
      */
     public static <B extends Buffer> Input<B> fromSource(
             ManagedBuffer<B> buffer, boolean endOfRecord) {
-        return new Input<>(buffer, endOfRecord);
+        return create(buffer, endOfRecord);
     }
 
     /**
@@ -57,6 +75,20 @@ public final class Input<T extends Buffer> extends IOEvent<T> {
     public static <B extends Buffer> Input<B> fromSink(
             ManagedBuffer<B> buffer, boolean endOfRecord) {
         buffer.flip();
-        return new Input<>(buffer, endOfRecord);
+        return create(buffer, endOfRecord);
+    }
+
+    /**
+     * Declares that the event is not used after it has been fired,
+     * which allows it to be reused after completion if recycling is
+     * enabled (see {@link IOEvent#setRecycling(boolean)}). Neither 
+     * the value returned when firing the event nor any other
+     * reference to the event may be used after firing it.
+     *
+     * @return the event
+     */
+    public Input<T> recyclable() {
+        markRecyclable();
+        return this;
     }
 }
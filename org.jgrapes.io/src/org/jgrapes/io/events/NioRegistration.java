@@ -45,6 +45,19 @@ public class NioRegistration extends Event<NioRegistration.Registration> {
          * @param ops the operations.
          */
         public abstract void updateInterested(int ops);
+
+        /**
+         * Runs the given task on the thread that handles the operations
+         * of the registered channel, before it waits for the next
+         * operations. This allows threads that must not block on
+         * the channel's locks to hand over work. The default 
+         * implementation runs the task immediately.
+         *
+         * @param task the task
+         */
+        public void runOnSelector(Runnable task) {
+            task.run();
+        }
     }
 
     /**
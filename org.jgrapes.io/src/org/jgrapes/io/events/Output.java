@@ -30,6 +30,10 @@ import org.jgrapes.io.util.ManagedBuffer;
  */
 public class Output<T extends Buffer> extends IOEvent<T> {
 
+    @SuppressWarnings("PMD.FieldNamingConventions")
+    private static final IOEventPool<Output<?>> pool
+        = new IOEventPool<>(IOEventPool.DEFAULT_CAPACITY);
+
     /**
      * Create a new output event with the given buffer and optionally flips
      * it. Used internally for constructor ("super(...)") invocations that 
@@ -61,6 +65,22 @@ public class Output<T extends Buffer> extends IOEvent<T> {
         event.buffer().lockBuffer();
     }
 
+    @SuppressWarnings("unchecked")
+    private static <B extends Buffer> Output<B> create(
+            ManagedBuffer<B> buffer, boolean flip, boolean endOfRecord) {
+        if (!recycling()) {
+            return new Output<>(buffer, flip, endOfRecord);
+        }
+        Output<B> event = (Output<B>) pool.poll();
+        if (event == null) {
+            event = new Output<>(buffer, flip, endOfRecord);
+        } else if (flip) {
+            buffer.flip();
+        }
+        event.reuse(buffer, endOfRecord, pool);
+        return event;
+    }
+
     /**
      * Create a new event with the given buffer. The buffer must
      * have been prepared for invoking `get`-methods.
@@ -70,7 +90,7 @@ public class Output<T extends Buffer> extends IOEvent<T> {
      */
     public static <B extends Buffer> Output<B> fromSource(
             ManagedBuffer<B> buffer, boolean endOfRecord) {
-        return new Output<>(buffer, false, endOfRecord);
+        return create(buffer, false, endOfRecord);
     }
 
     /**
@@ -83,7 +103,21 @@ public class Output<T extends Buffer> extends IOEvent<T> {
      */
     public static <B extends Buffer> Output<B> fromSink(
             ManagedBuffer<B> buffer, boolean endOfRecord) {
-        return new Output<>(buffer, true, endOfRecord);
+        return create(buffer, true, endOfRecord);
+    }
+
+    /**
+     * Declares that the event is not used after it has been fired,
+     * which allows it to be reused after completion if recycling is
+     * enabled (see {@link IOEvent#setRecycling(boolean)}). Neither 
+     * the value returned when firing the event nor any other
+     * reference to the event may be used after firing it.
+     *
+     * @return the event
+     */
+    public Output<T> recyclable() {
+        markRecyclable();
+        return this;
     }
 
     /**
@@ -19,6 +19,7 @@
 package org.jgrapes.io.events;
 
 import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Urgent;
 
 /**
  * Fired by an initiator of connections that maintains a pool of 
@@ -28,7 +29,11 @@ import org.jgrapes.core.Event;
  * can be closed. If this is the case, they should respond with
  * a {@link Close} event. If the decision cannot be made by the
  * component, it must forward the event downstream.
+ * 
+ * The event is {@link Urgent}, i.e. it is not delayed by the
+ * I/O events queued in the same pipeline.
  */
+@Urgent
 public class Purge extends Event<Void> {
 
 }
@@ -166,11 +166,12 @@ public abstract class AbstractBufferWriter<B extends Buffer> extends Writer {
             buffer.unlockBuffer();
         } else {
             if (sendInputEvents) {
-                eventPipeline.fire(
-                    associate(Input.fromSink(buffer, endOfRecord)), channel);
+                eventPipeline.fire(associate(
+                    Input.fromSink(buffer, endOfRecord).recyclable()), channel);
             } else {
-                eventPipeline.fire(
-                    associate(Output.fromSink(buffer, endOfRecord)), channel);
+                eventPipeline.fire(associate(
+                    Output.fromSink(buffer, endOfRecord).recyclable()),
+                    channel);
             }
             eorSent = endOfRecord;
         }
@@ -0,0 +1,333 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.util;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide source of {@link ByteBuffer}s that can be shared
+ * by many {@link ManagedBufferPool}s.
+ * 
+ * Buffers are allocated in size classes. The size requested is
+ * rounded up to a multiple of {@link #GRANULE}, so that buffers
+ * released by one pool can be reused by other pools that request
+ * a similar size. Released buffers are retained until the
+ * total capacity of the retained buffers reaches the limit
+ * specified when creating the arena. Any additional buffers 
+ * are left to the garbage collector.
+ * 
+ * The arena is connected to a pool by using {@link #acquire(int)}
+ * as the pool's buffer factory and {@link #release(ByteBuffer)} as
+ * the pool's buffer disposer (see 
+ * {@link ManagedBufferPool#setBufferDisposer}). Pools
+ * release buffers when they drain or when recollected buffers
+ * exceed their lower threshold. Connections that are idle
+ * therefore don't keep buffers of their own, while the buffers
+ * remain available for active connections.
+ * {@link #newPool(int, int, int)} creates pools set up in this way.
+ * 
+ * Memory used by direct buffers is only freed by the garbage 
+ * collector (eventually). Arenas that provide direct buffers 
+ * should therefore retain all released buffers and limit the 
+ * total capacity of the buffers that they allocate (see
+ * {@link #setAllocationLimit(long)}). A buffer is counted as
+ * allocated until it has been garbage collected, no matter
+ * whether it has been released to the arena or has simply
+ * been dropped by its user. Arenas that count their buffers
+ * (arenas that provide direct buffers or have an allocation limit)
+ * only retain buffers that they have allocated themselves.
+ * 
+ * {@link #direct()} provides an arena that is shared by all users
+ * of direct buffers, so that the limit applies to the total capacity
+ * of the direct buffers in the process. Its limit defaults to the
+ * value of the system property `jgrapes.maxDirectMemory` or
+ * 64 MiB, if the property isn't set.
+ */
+public class ByteBufferArena {
+
+    /** The granularity of the size classes. */
+    public static final int GRANULE = 1024;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final ByteBufferArena HEAP
+        = new ByteBufferArena(false, 64L * 1024 * 1024);
+
+    // Retains all buffers, total is limited by allocation
+    private static final ByteBufferArena DIRECT
+        = new ByteBufferArena(true, Long.MAX_VALUE).setAllocationLimit(
+            Long.getLong("jgrapes.maxDirectMemory", 64L * 1024 * 1024));
+
+    private final boolean direct;
+    private final long retainedLimit;
+    private final AtomicLong retained = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private volatile long allocationLimit = Long.MAX_VALUE;
+    private final Map<Integer, Queue<ByteBuffer>> sizeClasses
+        = new ConcurrentHashMap<>();
+    /** The buffers allocated and counted by this arena. */
+    private final Set<CountedBuffer> counted = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifies a buffer counted by the arena without keeping it
+     * from being garbage collected. Buffers are compared by identity, 
+     * because the {@link ByteBuffer#equals(Object)} compares content.
+     */
+    private static final class CountedBuffer
+            extends WeakReference<ByteBuffer> {
+        private final int hash;
+
+        private CountedBuffer(ByteBuffer buffer) {
+            super(buffer);
+            hash = System.identityHashCode(buffer);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CountedBuffer)) {
+                return false;
+            }
+            ByteBuffer buffer = get();
+            return buffer != null && buffer == ((CountedBuffer) obj).get();
+        }
+    }
+
+    /**
+     * Creates a new arena.
+     *
+     * @param direct whether to allocate direct buffers
+     * @param retainedLimit the maximum total capacity of the
+     * buffers retained for reuse
+     */
+    public ByteBufferArena(boolean direct, long retainedLimit) {
+        this.direct = direct;
+        this.retainedLimit = retainedLimit;
+    }
+
+    /**
+     * Returns the shared arena that provides heap buffers.
+     *
+     * @return the arena
+     */
+    public static ByteBufferArena heap() {
+        return HEAP;
+    }
+
+    /**
+     * Returns the shared arena that provides direct buffers.
+     * Its allocation limit defaults to 64 MiB.
+     *
+     * @return the arena
+     */
+    public static ByteBufferArena direct() {
+        return DIRECT;
+    }
+
+    /**
+     * Checks if the arena provides direct buffers.
+     *
+     * @return true, if direct
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Limits the total capacity of the buffers allocated by this arena. 
+     * Buffers are counted as allocated until they have been garbage
+     * collected. Arenas that provide heap buffers only count the 
+     * buffers allocated while a limit is set. If a buffer is requested while the limit has 
+     * been reached, a heap buffer is allocated that is not managed
+     * by the arena. The limit is therefore useful for arenas that 
+     * provide direct buffers only.
+     * 
+     * The limit may be changed at any time. Buffers that are in use
+     * are not affected by lowering the limit. However, while the
+     * allocated buffers exceed the limit, released buffers are 
+     * dropped instead of being retained for reuse.
+     *
+     * @param limit the limit
+     * @return the arena for easy chaining
+     */
+    public ByteBufferArena setAllocationLimit(long limit) {
+        this.allocationLimit = limit;
+        return this;
+    }
+
+    /**
+     * Returns the allocation limit.
+     *
+     * @return the limit
+     */
+    public long allocationLimit() {
+        return allocationLimit;
+    }
+
+    /**
+     * Checks if the arena counts the buffers that it allocates.
+     *
+     * @return true, if counting
+     */
+    private boolean isCounting() {
+        return direct || allocationLimit != Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the capacity of the buffers provided for the given size.
+     *
+     * @param size the requested size
+     * @return the size class
+     */
+    public static int sizeClass(int size) {
+        return (Math.max(size, 1) + GRANULE - 1) / GRANULE * GRANULE;
+    }
+
+    /**
+     * Returns a cleared buffer with at least the given capacity. 
+     * The buffer is taken from the retained buffers if possible,
+     * else a new buffer is allocated, taking the allocation limit 
+     * into account.
+     *
+     * @param size the minimum capacity
+     * @return the buffer
+     */
+    public ByteBuffer acquire(int size) {
+        int capacity = sizeClass(size);
+        ByteBuffer buffer = Optional.ofNullable(sizeClasses.get(capacity))
+            .map(Queue::poll).orElse(null);
+        if (buffer != null) {
+            retained.addAndGet(-capacity);
+            if (allocated.get() <= allocationLimit) {
+                return buffer;
+            }
+            // Limit has been lowered, drop buffer
+        }
+        if (!isCounting()) {
+            return ByteBuffer.allocate(capacity);
+        }
+        if (allocated.addAndGet(capacity) > allocationLimit) {
+            // Not counted, ignored when released
+            allocated.addAndGet(-capacity);
+            return ByteBuffer.allocate(capacity);
+        }
+        buffer = direct ? ByteBuffer.allocateDirect(capacity)
+            : ByteBuffer.allocate(capacity);
+        CountedBuffer ref = new CountedBuffer(buffer);
+        counted.add(ref);
+        // Must not reference the buffer
+        CLEANER.register(buffer, () -> {
+            counted.remove(ref);
+            allocated.addAndGet(-capacity);
+        });
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)} to the arena.
+     * The buffer must no longer be used by the caller. Buffers that 
+     * don't fit in a size class of the arena are ignored, as are
+     * buffers that haven't been counted by a counting arena 
+     * (see {@link #setAllocationLimit(long)}).
+     *
+     * @param buffer the buffer
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (buffer.isDirect() != direct || buffer.isReadOnly()
+            || capacity != sizeClass(capacity)
+            || !direct && (buffer.arrayOffset() != 0
+                || buffer.array().length != capacity)) {
+            // Not from an arena (or a slice)
+            return;
+        }
+        if (isCounting() && !counted.contains(new CountedBuffer(buffer))) {
+            // E.g. heap buffer provided when the limit was reached
+            return;
+        }
+        if (allocated.get() > allocationLimit) {
+            // Limit has been lowered, leave to garbage collector
+            return;
+        }
+        if (retained.addAndGet(capacity) > retainedLimit) {
+            // Leave to garbage collector
+            retained.addAndGet(-capacity);
+            return;
+        }
+        buffer.clear();
+        sizeClasses.computeIfAbsent(capacity,
+            key -> new ConcurrentLinkedQueue<>()).add(buffer);
+    }
+
+    /**
+     * Returns the total capacity of the buffers currently retained
+     * for reuse.
+     *
+     * @return the retained bytes
+     */
+    public long retainedBytes() {
+        return retained.get();
+    }
+
+    /**
+     * Returns the total capacity of the buffers allocated by this
+     * arena and not yet garbage collected, whether currently in use,
+     * retained or dropped.
+     *
+     * @return the allocated bytes
+     */
+    public long allocatedBytes() {
+        return allocated.get();
+    }
+
+    /**
+     * Creates a new pool that obtains its buffers from this arena
+     * and returns them when they are removed from the pool.
+     *
+     * @param size the minimum buffer size
+     * @param lowerThreshold the number of buffers kept in the pool
+     * @param upperLimit the maximum number of buffers
+     * @return the pool
+     * @see ManagedBufferPool#ManagedBufferPool(java.util.function.BiFunction, 
+     * java.util.function.Supplier, int, int)
+     */
+    public ManagedBufferPool<ManagedBuffer<ByteBuffer>, ByteBuffer>
+            newPool(int size, int lowerThreshold, int upperLimit) {
+        return new ManagedBufferPool<>(ManagedBuffer::new,
+            () -> acquire(size), lowerThreshold, upperLimit)
+                .setBufferDisposer(this::release);
+    }
+}
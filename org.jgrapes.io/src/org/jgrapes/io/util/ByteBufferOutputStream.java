@@ -185,11 +185,11 @@ public class ByteBufferOutputStream extends OutputStream {
             buffer.unlockBuffer();
         } else {
             if (sendInputEvents) {
-                eventPipeline.fire(Input.fromSink(buffer, endOfRecord),
-                    channel);
+                eventPipeline.fire(
+                    Input.fromSink(buffer, endOfRecord).recyclable(), channel);
             } else {
-                eventPipeline.fire(Output.fromSink(buffer, endOfRecord),
-                    channel);
+                eventPipeline.fire(
+                    Output.fromSink(buffer, endOfRecord).recyclable(), channel);
             }
             eorSent = endOfRecord;
         }
@@ -54,6 +54,7 @@ public class InputStreamPipeline implements Runnable {
     private boolean sendClosed = true;
     private Map<Object, Object> eventAssociations;
     private boolean sendInputEvents;
+    private byte[] transferArray;
 
     /**
      * Creates a new pipeline that sends the data from the given input stream
@@ -147,12 +148,28 @@ public class InputStreamPipeline implements Runnable {
             try {
                 buffer = channel.byteBufferPool().acquire();
                 var backing = buffer.backing;
-                int recvd = inStream.read(backing.array(),
-                    backing.position(), backing.remaining());
+                int recvd;
+                if (backing.hasArray()) {
+                    recvd = inStream.read(backing.array(),
+                        backing.position(), backing.remaining());
+                    if (recvd > 0) {
+                        backing.position(backing.position() + recvd);
+                    }
+                } else {
+                    // Direct buffer, must be filled from an array
+                    if (transferArray == null
+                        || transferArray.length < backing.remaining()) {
+                        transferArray = new byte[backing.remaining()];
+                    }
+                    recvd = inStream.read(transferArray, 0,
+                        backing.remaining());
+                    if (recvd > 0) {
+                        backing.put(transferArray, 0, recvd);
+                    }
+                }
                 if (recvd > 0) {
                     boolean eof
                         = availableIsRemaining && inStream.available() == 0;
-                    backing.position(backing.position() + recvd);
                     eventPipeline.fire(associate(ioEvent(buffer, eof)),
                         channel);
                     if (eof) {
@@ -216,9 +233,9 @@ public class InputStreamPipeline implements Runnable {
     private IOEvent<ByteBuffer> ioEvent(ManagedBuffer<ByteBuffer> buffer,
             boolean eor) {
         if (sendInputEvents) {
-            return Input.fromSink(buffer, eor);
+            return Input.fromSink(buffer, eor).recyclable();
         }
-        return Output.fromSink(buffer, eor);
+        return Output.fromSink(buffer, eor).recyclable();
     }
 
     private Event<?> associate(Event<?> event) {
@@ -29,16 +29,20 @@ import java.util.HashMap;
 import java.util.IntSummaryStatistics;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.WeakHashMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -97,6 +101,7 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
     private String name = Components.objectName(this);
     private BiFunction<T, BufferCollector<W>, W> wrapper;
     private Supplier<T> bufferFactory;
+    private Consumer<T> bufferDisposer;
     private BufferMonitor bufferMonitor;
     private BlockingQueue<W> queue;
     private int bufferSize = -1;
@@ -106,6 +111,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
     private long drainDelay = -1;
     private final AtomicReference<Timer> idleTimer
         = new AtomicReference<>(null);
+    private final Queue<Runnable> availabilityActions
+        = new ConcurrentLinkedQueue<>();
 
     /**
      * Sets the default delay after which buffers are removed from
@@ -196,6 +203,21 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
         return this;
     }
 
+    /**
+     * Sets a function that is invoked with the backing buffer of 
+     * each buffer that is removed from the pool, i.e. discarded
+     * or drained. This allows the buffers to be returned to
+     * the source that the buffer factory obtained them from, 
+     * see {@link ByteBufferArena}.
+     * 
+     * @param disposer the disposer
+     * @return the object for easy chaining
+     */
+    public ManagedBufferPool<W, T> setBufferDisposer(Consumer<T> disposer) {
+        this.bufferDisposer = disposer;
+        return this;
+    }
+
     private W createBuffer() {
         createdBufs.incrementAndGet();
         W buffer = wrapper.apply(this.bufferFactory.get(), this);
@@ -220,6 +242,10 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
             } else {
                 logger.warning("Attempt to remove unknown buffer from pool.");
             }
+            return;
+        }
+        if (bufferDisposer != null) {
+            bufferDisposer.accept(buffer.backingBuffer());
         }
     }
 
@@ -273,6 +299,63 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
         return buffer;
     }
 
+    /**
+     * Acquires a managed buffer from the pool if this is possible
+     * without waiting. The acquired buffer has a lock count of one.
+     * 
+     * This method is intended for threads that must not block, such
+     * as the threads that run a selector. If no buffer is available,
+     * {@link #whenAvailable(Runnable)} can be used to get notified
+     * when it makes sense to try again.
+     * 
+     * @return the acquired buffer or `null` if no buffer is available
+     */
+    public W tryAcquire() {
+        // Stop draining, because we obviously need this kind of buffers
+        Optional.ofNullable(idleTimer.getAndSet(null)).ifPresent(Timer::cancel);
+        W buffer = queue.poll();
+        if (buffer != null) {
+            buffer.lockBuffer();
+            return buffer;
+        }
+        if (createdBufs.get() < maximumBufs) {
+            return createBuffer();
+        }
+        return null;
+    }
+
+    /**
+     * Invokes the given action once, as soon as a buffer has been
+     * recollected. If a buffer is available already, the action is
+     * invoked immediately by the calling thread. Else it is invoked
+     * by the thread that recollects the next buffer and must
+     * therefore not block. 
+     * 
+     * Being notified does not guarantee that a subsequent invocation
+     * of {@link #tryAcquire()} succeeds, because other threads may
+     * have acquired the buffer in the meantime.
+     *
+     * @param action the action
+     */
+    public void whenAvailable(Runnable action) {
+        availabilityActions.add(action);
+        // Re-check, a buffer may have been recollected before the add
+        if ((!queue.isEmpty() || createdBufs.get() < maximumBufs)
+            && availabilityActions.remove(action)) {
+            action.run();
+        }
+    }
+
+    private void notifyAvailable() {
+        while (true) {
+            Runnable action = availabilityActions.poll();
+            if (action == null) {
+                break;
+            }
+            action.run();
+        }
+    }
+
     /**
      * Re-adds the buffer to the pool. The buffer is cleared.
      *
@@ -294,11 +377,13 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
                 if (old != null) {
                     old.cancel();
                 }
+                notifyAvailable();
                 return;
             }
         }
         // Discard
         removeBuffer(buffer);
+        notifyAvailable();
     }
 
     @SuppressWarnings({ "PMD.UnusedFormalParameter" })
@@ -365,11 +450,11 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
      * because there is no "hook" into the collection of orphaned
      * references, which is what we want here.
      */
-    @SuppressWarnings({ "PMD.PublicMemberInNonPublicType",
-        "PMD.AvoidSynchronizedStatement" })
+    @SuppressWarnings("PMD.PublicMemberInNonPublicType")
     private class BufferMonitor {
 
         private final Entry<W>[] data;
+        private final ReentrantLock lock = new ReentrantLock();
         private int indexMask;
         private final ReferenceQueue<W> orphanedEntries
             = new ReferenceQueue<>();
@@ -443,7 +528,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
         public BufferProperties put(W buffer, BufferProperties properties) {
             check();
             int index = buffer.hashCode() & indexMask;
-            synchronized (data) {
+            lock.lock();
+            try {
                 Entry<W> entry = data[index];
                 Entry<W> prev = null;
                 while (true) {
@@ -467,6 +553,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
                     prev = entry;
                     entry = entry.next;
                 }
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -480,7 +568,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
         public BufferProperties get(ManagedBuffer<?> buffer) {
             check();
             int index = buffer.hashCode() & indexMask;
-            synchronized (data) {
+            lock.lock();
+            try {
                 Entry<W> entry = data[index];
                 while (entry != null) {
                     if (entry.getKey() == buffer) {
@@ -489,6 +578,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
                     entry = entry.next;
                 }
                 return null;
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -502,7 +593,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
         public BufferProperties remove(ManagedBuffer<?> buffer) {
             check();
             int index = buffer.hashCode() & indexMask;
-            synchronized (data) {
+            lock.lock();
+            try {
                 Entry<W> entry = data[index];
                 Entry<W> prev = null;
                 while (entry != null) {
@@ -518,12 +610,15 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
                     entry = entry.next;
                 }
                 return null;
+            } finally {
+                lock.unlock();
             }
         }
 
         @SuppressWarnings("PMD.CompareObjectsWithEquals")
         private BufferProperties remove(Entry<W> toBeRemoved) {
-            synchronized (data) {
+            lock.lock();
+            try {
                 Entry<W> entry = data[toBeRemoved.index];
                 Entry<W> prev = null;
                 while (entry != null) {
@@ -539,6 +634,8 @@ public class ManagedBufferPool<W extends ManagedBuffer<T>, T extends Buffer>
                     entry = entry.next;
                 }
                 return null;
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -21,14 +21,17 @@ package org.jgrapes.net;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 import org.jgrapes.core.Channel;
 import org.jgrapes.core.Component;
 import org.jgrapes.core.Components;
@@ -45,6 +48,7 @@ import org.jgrapes.io.events.NioRegistration;
 import org.jgrapes.io.events.NioRegistration.Registration;
 import org.jgrapes.io.events.OpenSocketConnection;
 import org.jgrapes.io.events.Output;
+import org.jgrapes.io.util.ByteBufferArena;
 import org.jgrapes.io.util.ManagedBuffer;
 import org.jgrapes.io.util.ManagedBufferPool;
 
@@ -56,8 +60,11 @@ import org.jgrapes.io.util.ManagedBufferPool;
 public abstract class SocketConnectionManager extends Component {
 
     private int bufferSize = 32_768;
+    private int maxWriteBatch = 16;
+    private boolean directBuffers;
     protected final Set<SocketChannelImpl> channels = new HashSet<>();
     private ExecutorService executorService;
+    private final LongAdder writeOperations = new LongAdder();
 
     /**
      * Creates a new server using the given channel.
@@ -89,6 +96,120 @@ public abstract class SocketConnectionManager extends Component {
         return bufferSize;
     }
 
+    /**
+     * Sets the maximum number of pending output buffers that are
+     * passed to the network with a single (gathering) write. 
+     * If no value is set, a default value of 16 will be used.
+     * 
+     * @param maxWriteBatch the maximum number of buffers
+     * @return the socket connection manager for easy chaining
+     */
+    public SocketConnectionManager setMaxWriteBatch(int maxWriteBatch) {
+        if (maxWriteBatch < 1) {
+            throw new IllegalArgumentException(
+                "Maximum write batch must be positive.");
+        }
+        this.maxWriteBatch = maxWriteBatch;
+        return this;
+    }
+
+    /**
+     * Returns the configured maximum number of buffers written
+     * with a single write.
+     *
+     * @return the maximum number of buffers
+     */
+    public int maxWriteBatch() {
+        return maxWriteBatch;
+    }
+
+    /**
+     * Returns the number of write operations that have been invoked
+     * on the network channels. A gathering write of several buffers
+     * counts as a single operation.
+     *
+     * @return the number of write operations
+     */
+    public long writeOperations() {
+        return writeOperations.sum();
+    }
+
+    /**
+     * Sets whether the buffers used for reading from and writing to
+     * the network are direct buffers. Using direct buffers avoids
+     * copying the data to a temporary direct buffer with every I/O
+     * operation. However, components that handle the data must not
+     * access the buffers' arrays. The default is to use heap buffers.
+     * 
+     * Direct buffers are obtained from the {@link ByteBufferArena}
+     * that is shared by all connections (see 
+     * {@link ByteBufferArena#direct()}). Buffers that are drained 
+     * from a connection's pools (see 
+     * {@link ManagedBufferPool#setDrainDelay(long)}) are returned 
+     * to the arena and reused.
+     * 
+     * @param directBuffers whether to use direct buffers
+     * @return the socket connection manager for easy chaining
+     * @see #setMaxDirectMemory(long)
+     */
+    public SocketConnectionManager setDirectBuffers(boolean directBuffers) {
+        this.directBuffers = directBuffers;
+        return this;
+    }
+
+    /**
+     * Returns whether direct buffers are used.
+     *
+     * @return the result
+     */
+    public boolean directBuffers() {
+        return directBuffers;
+    }
+
+    /**
+     * Sets the maximum amount of memory used for direct buffers
+     * in the process. If the limit has been reached, heap buffers 
+     * are allocated instead. If no value is set, the value of the 
+     * system property `jgrapes.maxDirectMemory` or a default value 
+     * of 64 MiB will be used.
+     * 
+     * **This is a process-wide setting.** The limit applies to the
+     * total of the direct buffers used by all socket connection 
+     * managers (and all other users of {@link ByteBufferArena#direct()}),
+     * because they share a single arena. Setting the limit on one
+     * component therefore changes it for every component. The limit 
+     * is enforced for buffers allocated after it has been set, 
+     * buffers in use are not affected.
+     * 
+     * @param maxDirectMemory the maximum number of bytes
+     * @return the socket connection manager for easy chaining
+     * @see ByteBufferArena#setAllocationLimit(long)
+     */
+    public SocketConnectionManager setMaxDirectMemory(long maxDirectMemory) {
+        ByteBufferArena.direct().setAllocationLimit(maxDirectMemory);
+        return this;
+    }
+
+    /**
+     * Returns the maximum amount of memory used for direct buffers.
+     *
+     * @return the maximum number of bytes
+     */
+    public long maxDirectMemory() {
+        return ByteBufferArena.direct().allocationLimit();
+    }
+
+    /**
+     * Returns the arena that provides the buffers for reading from 
+     * and writing to the network.
+     *
+     * @return the arena
+     */
+    protected ByteBufferArena bufferArena() {
+        return directBuffers ? ByteBufferArena.direct()
+            : ByteBufferArena.heap();
+    }
+
     /**
      * Sets an executor service to be used by the event pipelines
      * that process the data from the network. Setting this
@@ -130,11 +251,23 @@ public abstract class SocketConnectionManager extends Component {
     @Handler
     public void onOutput(Output<ByteBuffer> event,
             SocketChannelImpl channel) throws InterruptedException {
-        if (channels.contains(channel)) {
+        if (isManaged(channel)) {
             channel.write(event);
         }
     }
 
+    /**
+     * Checks if the channel is one of the registered channels.
+     *
+     * @param channel the channel
+     * @return true, if the channel is registered
+     */
+    protected boolean isManaged(Channel channel) {
+        synchronized (channels) {
+            return channels.contains(channel);
+        }
+    }
+
     /**
      * Removes the channel from the set of registered channels.
      *
@@ -187,10 +320,14 @@ public abstract class SocketConnectionManager extends Component {
         private final ManagedBufferPool<ManagedBuffer<ByteBuffer>,
                 ByteBuffer> readBuffers;
         private Registration registration;
+        // Modified with pendingWrites locked (if not on selector thread)
         private int selectionKeys;
+        private boolean readSuspended;
         private final Queue<
                 ManagedBuffer<ByteBuffer>.ByteBufferView> pendingWrites
                     = new ArrayDeque<>();
+        // Only used by the selector thread
+        private ByteBuffer[] writeBatch = new ByteBuffer[0];
         private ConnectionState connState = ConnectionState.OPEN;
         private PurgeableState purgeable = PurgeableState.NO;
         private long becamePurgeableAt;
@@ -217,24 +354,23 @@ public abstract class SocketConnectionManager extends Component {
                 = Components.objectName(SocketConnectionManager.this)
                     + "." + Components.objectName(this);
 
-            // Prepare write buffers
+            // Prepare write buffers (shared with other connections
+            // when idle)
             int writeBufferSize = bufferSize < 1500 ? 1500 : bufferSize;
-            setByteBufferPool(new ManagedBufferPool<>(ManagedBuffer::new,
-                () -> {
-                    return ByteBuffer.allocate(writeBufferSize);
-                }, 2)
-                    .setName(channelName + ".upstream.buffers"));
+            setByteBufferPool(bufferArena()
+                .newPool(writeBufferSize, 2, 2)
+                .setName(channelName + ".upstream.buffers"));
 
             // Prepare read buffers
             int readBufferSize = bufferSize < 1500 ? 1500 : bufferSize;
-            readBuffers = new ManagedBufferPool<>(ManagedBuffer::new,
-                () -> {
-                    return ByteBuffer.allocate(readBufferSize);
-                }, 2)
-                    .setName(channelName + ".downstream.buffers");
+            readBuffers = bufferArena()
+                .newPool(readBufferSize, 2, 2)
+                .setName(channelName + ".downstream.buffers");
 
             // Ready to use
-            channels.add(this);
+            synchronized (channels) {
+                channels.add(this);
+            }
 
             // Register with dispatcher
             nioChannel.configureBlocking(false);
@@ -347,6 +483,7 @@ public abstract class SocketConnectionManager extends Component {
                     return;
                 }
                 try {
+                    writeOperations.increment();
                     nioChannel.write(reader.get());
                 } catch (IOException e) {
                     forceClose(e);
@@ -382,15 +519,20 @@ public abstract class SocketConnectionManager extends Component {
 
         /**
          * Gets a buffer from the pool and reads available data into it.
-         * Sends the result as event. 
+         * Sends the result as event. If no buffer is available, reading
+         * is suspended until a buffer has been recollected, because
+         * the selector thread serves other channels as well and must
+         * therefore never block.
          * 
          * @throws InterruptedException
-         * @throws IOException
          */
         @SuppressWarnings("PMD.EmptyCatchBlock")
         private void handleReadOp() throws InterruptedException {
-            ManagedBuffer<ByteBuffer> buffer;
-            buffer = readBuffers.acquire();
+            ManagedBuffer<ByteBuffer> buffer = readBuffers.tryAcquire();
+            if (buffer == null) {
+                suspendReading();
+                return;
+            }
             try {
                 int bytes = buffer.fillFromChannel(nioChannel);
                 if (bytes == 0) {
@@ -399,7 +541,8 @@ public abstract class SocketConnectionManager extends Component {
                 }
                 if (bytes > 0) {
                     purgeable = PurgeableState.NO;
-                    downPipeline.fire(Input.fromSink(buffer, false), this);
+                    downPipeline.fire(
+                        Input.fromSink(buffer, false).recyclable(), this);
                     return;
                 }
             } catch (IOException e) {
@@ -455,68 +598,108 @@ public abstract class SocketConnectionManager extends Component {
             });
         }
 
+        private void suspendReading() {
+            synchronized (pendingWrites) {
+                readSuspended = true;
+                selectionKeys &= ~SelectionKey.OP_READ;
+                registration.updateInterested(selectionKeys);
+            }
+            // Invoked by the thread that returns a buffer, which may
+            // hold the lock on another connection's pending writes.
+            // Leave the locking to the selector thread.
+            readBuffers.whenAvailable(
+                () -> registration.runOnSelector(this::resumeReading));
+        }
+
+        @SuppressWarnings("PMD.EmptyCatchBlock")
+        private void resumeReading() {
+            synchronized (pendingWrites) {
+                if (!readSuspended) {
+                    return;
+                }
+                readSuspended = false;
+                if (!nioChannel.isOpen()) {
+                    return;
+                }
+                selectionKeys |= SelectionKey.OP_READ;
+                try {
+                    registration.updateInterested(selectionKeys);
+                } catch (CancelledKeyException e) {
+                    // Closed concurrently, nothing left to read
+                }
+            }
+        }
+
         /**
          * Checks if there is still data to be written. This may be
-         * a left over in an incompletely written buffer or a complete
-         * pending buffer. 
+         * a left over in an incompletely written buffer or complete
+         * pending buffers. Up to {@link #maxWriteBatch()} buffers
+         * are written with a single gathering write.
          * 
          * @throws IOException
          * @throws InterruptedException 
          */
         @SuppressWarnings({ "PMD.EmptyCatchBlock", "PMD.CognitiveComplexity",
-            "PMD.AvoidBranchingStatementAsLastInLoop",
             "PMD.AvoidDeeplyNestedIfStmts" })
         private void handleWriteOp() throws InterruptedException {
-            while (true) {
-                ManagedBuffer<ByteBuffer>.ByteBufferView head;
-                synchronized (pendingWrites) {
-                    if (pendingWrites.isEmpty()) {
-                        // Nothing left to write, stop getting ops
-                        selectionKeys &= ~SelectionKey.OP_WRITE;
-                        registration.updateInterested(selectionKeys);
-                        // Was the connection closed while we were writing?
-                        if (connState == ConnectionState.DELAYED_REQUEST
-                            || connState == ConnectionState.DELAYED_EVENT) {
-                            synchronized (nioChannel) {
-                                try {
-                                    if (connState == ConnectionState.DELAYED_REQUEST) {
-                                        // Delayed close request from other end,
-                                        // complete
-                                        nioChannel.close();
-                                        connState = ConnectionState.CLOSED;
-                                    }
-                                    if (connState == ConnectionState.DELAYED_EVENT) {
-                                        // Delayed close from this end, initiate
-                                        nioChannel.shutdownOutput();
-                                        connState = ConnectionState.HALF_CLOSED;
-                                    }
-                                } catch (IOException e) {
-                                    // Ignored for close
+            if (writeBatch.length != maxWriteBatch) {
+                writeBatch = new ByteBuffer[maxWriteBatch];
+            }
+            int count = 0;
+            synchronized (pendingWrites) {
+                // Release completely written buffers
+                while (!pendingWrites.isEmpty()
+                    && !pendingWrites.peek().get().hasRemaining()) {
+                    pendingWrites.remove().managedBuffer().unlockBuffer();
+                }
+                if (pendingWrites.isEmpty()) {
+                    // Nothing left to write, stop getting ops
+                    selectionKeys &= ~SelectionKey.OP_WRITE;
+                    registration.updateInterested(selectionKeys);
+                    // Was the connection closed while we were writing?
+                    if (connState == ConnectionState.DELAYED_REQUEST
+                        || connState == ConnectionState.DELAYED_EVENT) {
+                        synchronized (nioChannel) {
+                            try {
+                                if (connState == ConnectionState.DELAYED_REQUEST) {
+                                    // Delayed close request from other end,
+                                    // complete
+                                    nioChannel.close();
+                                    connState = ConnectionState.CLOSED;
                                 }
-                            }
-                        } else {
-                            if (purgeable == PurgeableState.PENDING) {
-                                purgeable = PurgeableState.YES;
+                                if (connState == ConnectionState.DELAYED_EVENT) {
+                                    // Delayed close from this end, initiate
+                                    nioChannel.shutdownOutput();
+                                    connState = ConnectionState.HALF_CLOSED;
+                                }
+                            } catch (IOException e) {
+                                // Ignored for close
                             }
                         }
-                        break; // Nothing left to do
-                    }
-                    head = pendingWrites.peek();
-                    if (!head.get().hasRemaining()) {
-                        // Nothing left in head buffer, try next
-                        head.managedBuffer().unlockBuffer();
-                        pendingWrites.remove();
-                        continue;
+                    } else {
+                        if (purgeable == PurgeableState.PENDING) {
+                            purgeable = PurgeableState.YES;
+                        }
                     }
+                    return; // Nothing left to do
                 }
-                try {
-                    nioChannel.write(head.get()); // write...
-                } catch (IOException e) {
-                    forceClose(e);
-                    return;
+                for (var view : pendingWrites) {
+                    if (count == writeBatch.length) {
+                        break;
+                    }
+                    writeBatch[count++] = view.get();
                 }
-                break; // ... and wait for next op
             }
+            try {
+                writeOperations.increment();
+                nioChannel.write(writeBatch, 0, count); // write...
+            } catch (IOException e) {
+                forceClose(e);
+            } finally {
+                // Don't keep the buffers reachable
+                Arrays.fill(writeBatch, 0, count, null);
+            }
+            // ... and wait for next op
         }
 
         /**
@@ -62,6 +62,32 @@ public class SocketConnector extends SocketConnectionManager {
         return this;
     }
 
+    @Override
+    public SocketConnector setMaxWriteBatch(int maxWriteBatch) {
+        super.setMaxWriteBatch(maxWriteBatch);
+        return this;
+    }
+
+    @Override
+    public SocketConnector setDirectBuffers(boolean directBuffers) {
+        super.setDirectBuffers(directBuffers);
+        return this;
+    }
+
+    /**
+     * Sets the process-wide limit for direct buffers, i.e. the
+     * setting affects every component, see
+     * {@link SocketConnectionManager#setMaxDirectMemory(long)}.
+     *
+     * @param maxDirectMemory the maximum number of bytes
+     * @return the socket connector for easy chaining
+     */
+    @Override
+    public SocketConnector setMaxDirectMemory(long maxDirectMemory) {
+        super.setMaxDirectMemory(maxDirectMemory);
+        return this;
+    }
+
     /**
      * Opens a connection to the end point specified in the event.
      *
@@ -94,7 +120,7 @@ public class SocketConnector extends SocketConnectionManager {
             throws InterruptedException, IOException {
         NioHandler handler = event.event().handler();
         if (!(handler instanceof SocketChannelImpl)
-            || !channels.contains(handler)) {
+            || !isManaged((SocketChannelImpl) handler)) {
             return;
         }
         if (event.event().get() == null) {
@@ -133,7 +159,7 @@ public class SocketConnector extends SocketConnectionManager {
     public void onClose(Close event) throws IOException, InterruptedException {
         for (Channel channel : event.channels()) {
             if (channel instanceof SocketChannelImpl
-                && channels.contains(channel)) {
+                && isManaged(channel)) {
                 ((SocketChannelImpl) channel).close();
             }
         }
@@ -243,6 +243,32 @@ public class SocketServer extends SocketConnectionManager
         return this;
     }
 
+    @Override
+    public SocketServer setMaxWriteBatch(int maxWriteBatch) {
+        super.setMaxWriteBatch(maxWriteBatch);
+        return this;
+    }
+
+    @Override
+    public SocketServer setDirectBuffers(boolean directBuffers) {
+        super.setDirectBuffers(directBuffers);
+        return this;
+    }
+
+    /**
+     * Sets the process-wide limit for direct buffers, i.e. the
+     * setting affects every component, see
+     * {@link SocketConnectionManager#setMaxDirectMemory(long)}.
+     *
+     * @param maxDirectMemory the maximum number of bytes
+     * @return the socket server for easy chaining
+     */
+    @Override
+    public SocketServer setMaxDirectMemory(long maxDirectMemory) {
+        super.setMaxDirectMemory(maxDirectMemory);
+        return this;
+    }
+
     /**
      * The component can be configured with events that include
      * a path (see @link {@link ConfigurationUpdate#paths()})
@@ -266,6 +292,16 @@ public class SocketServer extends SocketConnectionManager
      * `bufferSize`
      * : See {@link #setBufferSize(int)}.
      * 
+     * `maxWriteBatch`
+     * : See {@link #setMaxWriteBatch(int)}.
+     * 
+     * `directBuffers`
+     * : See {@link #setDirectBuffers(boolean)}.
+     * 
+     * `maxDirectMemory`
+     * : See {@link #setMaxDirectMemory(long)}. Note that this
+     *   is a process-wide setting that affects all components.
+     * 
      * `maxConnections`
      * : Calls {@link #setConnectionLimiter} with a
      *   {@link PermitsPool} of the specified size.
@@ -290,6 +326,12 @@ public class SocketServer extends SocketConnectionManager
                 value -> setBacklog(Integer.parseInt(value)));
             Optional.ofNullable(values.get("bufferSize")).ifPresent(
                 value -> setBufferSize(Integer.parseInt(value)));
+            Optional.ofNullable(values.get("maxWriteBatch")).ifPresent(
+                value -> setMaxWriteBatch(Integer.parseInt(value)));
+            Optional.ofNullable(values.get("directBuffers"))
+                .map(Boolean::parseBoolean).ifPresent(this::setDirectBuffers);
+            Optional.ofNullable(values.get("maxDirectMemory"))
+                .map(Long::parseLong).ifPresent(this::setMaxDirectMemory);
             Optional.ofNullable(values.get("maxConnections"))
                 .map(Integer::parseInt).map(PermitsPool::new)
                 .ifPresent(this::setConnectionLimiter);
@@ -424,7 +466,7 @@ public class SocketServer extends SocketConnectionManager
             return;
         }
         if (handler instanceof SocketChannelImpl channel
-            && channels.contains(channel)) {
+            && isManaged(channel)) {
             var accepted = new Accepted(channel.nioChannel().getLocalAddress(),
                 channel.nioChannel().getRemoteAddress(), false,
                 Collections.emptyList());
@@ -469,6 +511,12 @@ public class SocketServer extends SocketConnectionManager
         }
     }
 
+    private int channelCount() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
     @Override
     protected boolean removeChannel(SocketChannelImpl channel) {
         synchronized (channels) {
@@ -496,7 +544,7 @@ public class SocketServer extends SocketConnectionManager
     public void onClose(Close event) throws IOException, InterruptedException {
         boolean closeServer = false;
         for (Channel channel : event.channels()) {
-            if (channels.contains(channel)) {
+            if (isManaged(channel)) {
                 ((SocketChannelImpl) channel).close();
                 continue;
             }
@@ -697,7 +745,7 @@ public class SocketServer extends SocketConnectionManager
 
         @Override
         public int getChannelCount() {
-            return server().map(server -> server.channels.size()).orElse(0);
+            return server().map(SocketServer::channelCount).orElse(0);
         }
 
         @Override
@@ -705,7 +753,11 @@ public class SocketServer extends SocketConnectionManager
         public SortedMap<String, ChannelInfo> getChannels() {
             return server().map(server -> {
                 SortedMap<String, ChannelInfo> result = new TreeMap<>();
-                for (SocketChannelImpl channel : server.channels) {
+                List<SocketChannelImpl> current;
+                synchronized (server.channels) {
+                    current = new ArrayList<>(server.channels);
+                }
+                for (SocketChannelImpl channel : current) {
                     result.put(channel.nioChannel().socket()
                         .getRemoteSocketAddress().toString(),
                         new ChannelInfo(channel));
@@ -782,7 +834,7 @@ public class SocketServer extends SocketConnectionManager
         public IntSummaryStatistics getConnectionsPerServerStatistics() {
             return infos().stream().map(info -> info.server().get())
                 .filter(ref -> ref != null).collect(
-                    Collectors.summarizingInt(srv -> srv.channels.size()));
+                    Collectors.summarizingInt(SocketServer::channelCount));
         }
     }
 
@@ -57,6 +57,7 @@ import org.jgrapes.io.events.Input;
 import org.jgrapes.io.events.OpenSocketConnection;
 import org.jgrapes.io.events.Output;
 import org.jgrapes.io.events.Purge;
+import org.jgrapes.io.util.ByteBufferArena;
 import org.jgrapes.io.util.LinkedIOSubchannel;
 import org.jgrapes.io.util.ManagedBuffer;
 import org.jgrapes.io.util.ManagedBufferPool;
@@ -411,14 +412,14 @@ public class SslCodec extends Component {
             // https://docs.oracle.com/javase/8/docs/technotes/guides/security/jsse/samples/sslengine/SSLEngineSimpleDemo.java
             final int appBufSize
                 = sslEngine.getSession().getApplicationBufferSize();
-            downstreamPool = new ManagedBufferPool<>(ManagedBuffer::new,
-                () -> ByteBuffer.allocate(appBufSize + 50), 2)
-                    .setName(channelName + ".downstream.buffers");
+            downstreamPool = ByteBufferArena.heap()
+                .newPool(appBufSize + 50, 2, 2)
+                .setName(channelName + ".downstream.buffers");
             // Provide buffers with application buffer size
             // for use by downstream components.
-            setByteBufferPool(new ManagedBufferPool<>(ManagedBuffer::new,
-                () -> ByteBuffer.allocate(appBufSize), 2)
-                    .setName(channelName + ".upstream.buffers"));
+            setByteBufferPool(ByteBufferArena.heap()
+                .newPool(appBufSize, 2, 2)
+                .setName(channelName + ".upstream.buffers"));
             downPipeline = newEventPipeline();
             // Buffers for sending encrypted data upstream will be
             // obtained from upstream() and resized if required.
@@ -534,7 +535,7 @@ public class SslCodec extends Component {
                 if (unwrapped.position() > 0) {
                     // forward unwrapped data
                     downPipeline.fire(Input.fromSink(unwrapped,
-                        sslEngine.isInboundDone()), this);
+                        sslEngine.isInboundDone()).recyclable(), this);
                     unwrapped = null;
                 }
 
@@ -597,7 +598,8 @@ public class SslCodec extends Component {
                     if (wrapped.position() > 0) {
                         upstreamChannel().respond(Output.fromSink(wrapped,
                             sslEngine.isInboundDone()
-                                || eor && !output.hasRemaining()));
+                                || eor && !output.hasRemaining())
+                            .recyclable());
                         wrapped = null;
                     }
                 }
@@ -0,0 +1,146 @@
+package org.jgrapes.io.test;
+
+import java.nio.ByteBuffer;
+import org.jgrapes.io.util.ByteBufferArena;
+import org.jgrapes.io.util.ManagedBuffer;
+import org.jgrapes.io.util.ManagedBufferPool;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ByteBufferArenaTests {
+
+    @Test
+    public void testSizeClasses() {
+        ByteBufferArena arena = new ByteBufferArena(false, 8192);
+        ByteBuffer buffer = arena.acquire(1500);
+        assertEquals(2048, buffer.capacity());
+        assertFalse(buffer.isDirect());
+        buffer.put((byte) 42);
+        arena.release(buffer);
+        assertEquals(2048, arena.retainedBytes());
+
+        // Reused for a request in the same size class, cleared
+        ByteBuffer reused = arena.acquire(1100);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(0, arena.retainedBytes());
+
+        // Retained up to the limit only
+        arena.release(reused);
+        arena.release(arena.acquire(4096));
+        arena.release(arena.acquire(4096));
+        assertEquals(6144, arena.retainedBytes());
+
+        // Buffers not from an arena are ignored
+        arena.release(ByteBuffer.allocate(1000));
+        arena.release(ByteBuffer.allocate(4096).slice(0, 1024));
+        arena.release(ByteBuffer.allocateDirect(1024));
+        assertEquals(6144, arena.retainedBytes());
+    }
+
+    @Test
+    public void testDirect() {
+        ByteBufferArena arena = new ByteBufferArena(true, 8192);
+        ByteBuffer buffer = arena.acquire(100);
+        assertTrue(buffer.isDirect());
+        assertEquals(1024, buffer.capacity());
+        arena.release(buffer);
+        assertSame(buffer, arena.acquire(1024));
+    }
+
+    @Test
+    public void testAllocationLimit() {
+        ByteBufferArena arena = new ByteBufferArena(true, 4096)
+            .setAllocationLimit(4096);
+        ByteBuffer first = arena.acquire(2048);
+        ByteBuffer second = arena.acquire(2048);
+        assertEquals(4096, arena.allocatedBytes());
+        // Limit reached, heap buffer not managed by the arena
+        ByteBuffer third = arena.acquire(2048);
+        assertFalse(third.isDirect());
+        assertEquals(4096, arena.allocatedBytes());
+        arena.release(third);
+        arena.release(first);
+        assertEquals(2048, arena.retainedBytes());
+        assertSame(first, arena.acquire(1024 + 1));
+        arena.release(first);
+        arena.release(second);
+        assertEquals(4096, arena.retainedBytes());
+        assertEquals(4096, arena.allocatedBytes());
+    }
+
+    @Test
+    public void testUncounted() {
+        // Heap arena without limit doesn't count
+        ByteBufferArena arena = new ByteBufferArena(false, 8192);
+        arena.acquire(2048);
+        assertEquals(0, arena.allocatedBytes());
+
+        // Counting arenas only retain their own buffers
+        arena = new ByteBufferArena(false, 8192).setAllocationLimit(2048);
+        ByteBuffer counted = arena.acquire(2048);
+        ByteBuffer fallback = arena.acquire(2048);
+        assertNotSame(counted, fallback);
+        assertEquals(2048, arena.allocatedBytes());
+        arena.release(fallback);
+        assertEquals(0, arena.retainedBytes());
+        arena.release(counted);
+        assertEquals(2048, arena.retainedBytes());
+
+        arena = new ByteBufferArena(true, 8192);
+        arena.release(ByteBuffer.allocateDirect(1024));
+        assertEquals(0, arena.retainedBytes());
+    }
+
+    @Test(timeout = 10000)
+    public void testDropped() {
+        ByteBufferArena arena = new ByteBufferArena(true, 4096)
+            .setAllocationLimit(4096);
+        ByteBuffer buffer = arena.acquire(2048);
+        arena.acquire(2048);
+        arena.release(buffer);
+
+        // Lowering the limit doesn't reuse or retain buffers
+        arena.setAllocationLimit(2048);
+        assertFalse(arena.acquire(2048).isDirect());
+        assertEquals(0, arena.retainedBytes());
+        arena.release(buffer);
+        assertEquals(0, arena.retainedBytes());
+
+        // Buffers not returned to the arena are freed by the GC
+        buffer = null;
+        while (arena.allocatedBytes() > 0) {
+            System.gc();
+        }
+        assertTrue(arena.acquire(2048).isDirect());
+    }
+
+    @Test
+    public void testPool() throws InterruptedException {
+        ByteBufferArena arena = new ByteBufferArena(false, 1024 * 1024);
+        ManagedBufferPool<ManagedBuffer<ByteBuffer>, ByteBuffer> pool
+            = arena.newPool(1500, 1, 2).setDrainDelay(50);
+        ManagedBuffer<ByteBuffer> first = pool.acquire();
+        ManagedBuffer<ByteBuffer> second = pool.acquire();
+        first.unlockBuffer();
+        // Exceeds the lower threshold, is returned to the arena
+        second.unlockBuffer();
+        assertEquals(2048, arena.retainedBytes());
+
+        // Drained buffers are returned to the arena
+        long deadline = System.currentTimeMillis() + 5000;
+        while (arena.retainedBytes() < 4096) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+
+        // Other pools reuse the buffers
+        ManagedBufferPool<ManagedBuffer<ByteBuffer>, ByteBuffer> other
+            = arena.newPool(2048, 2, 2);
+        ManagedBuffer<ByteBuffer> buffer = other.acquire();
+        assertTrue(buffer.backingBuffer() == first.backingBuffer()
+            || buffer.backingBuffer() == second.backingBuffer());
+        assertEquals(2048, arena.retainedBytes());
+        buffer.unlockBuffer();
+    }
+}
@@ -0,0 +1,115 @@
+package org.jgrapes.io.test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.Event;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.io.events.IOEvent;
+import org.jgrapes.io.events.Input;
+import org.jgrapes.io.events.Output;
+import org.jgrapes.io.util.ManagedBuffer;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IOEventRecyclingTests {
+
+    public static class Consumer extends Component {
+
+        public final List<String> received = new ArrayList<>();
+
+        public Consumer() {
+            super(Channel.SELF);
+        }
+
+        @Handler
+        public void onInput(Input<ByteBuffer> event) {
+            received.add(new String(event.data().array(),
+                event.data().position(), event.remaining()));
+        }
+
+        @Handler
+        public void onOutput(Output<ByteBuffer> event) {
+            received.add(new String(event.data().array(),
+                event.data().position(), event.remaining()));
+        }
+    }
+
+    private static ManagedBuffer<ByteBuffer> data(String text) {
+        return ManagedBuffer.wrap(ByteBuffer.wrap(text.getBytes()));
+    }
+
+    private Consumer consumer;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        IOEvent.setRecycling(true);
+        consumer = new Consumer();
+        Components.start(consumer);
+    }
+
+    @After
+    public void tearDown() {
+        IOEvent.setRecycling(false);
+    }
+
+    @Test
+    public void testReuse() throws InterruptedException {
+        Input<ByteBuffer> first
+            = Input.fromSource(data("first"), false).recyclable();
+        consumer.fire(first);
+        Components.awaitExhaustion();
+        // Completed event has been reset and is handed out again
+        assertFalse(first.isDone());
+        Input<ByteBuffer> second = Input.fromSource(data("second"), true);
+        assertSame(first, second);
+        assertTrue(second.isEndOfRecord());
+        assertEquals(0, second.channels().length);
+        consumer.fire(second.recyclable());
+        Components.awaitExhaustion();
+
+        Output<ByteBuffer> out
+            = Output.fromSource(data("out"), false).recyclable();
+        consumer.fire(out);
+        Components.awaitExhaustion();
+        assertSame(out, Output.fromSource(data("again"), false));
+        assertEquals(List.of("first", "second", "out"), consumer.received);
+    }
+
+    @Test
+    public void testNotReused()
+            throws InterruptedException, ExecutionException {
+        // Not marked as recyclable, completes before get() is invoked
+        Input<ByteBuffer> awaited = Input.fromSource(data("awaited"), false);
+        consumer.fire(awaited);
+        Components.awaitExhaustion();
+        awaited.get();
+        assertTrue(awaited.isDone());
+
+        // Referenced by a completion event
+        Input<ByteBuffer> monitored
+            = Input.fromSource(data("monitored"), false).recyclable();
+        monitored.addCompletionEvent(new Event<Void>());
+        consumer.fire(monitored);
+        Components.awaitExhaustion();
+        assertTrue(monitored.isDone());
+
+        Input<ByteBuffer> next = Input.fromSource(data("next"), false);
+        assertNotSame(awaited, next);
+        assertNotSame(monitored, next);
+
+        // Not recycled if recycling is disabled
+        IOEvent.setRecycling(false);
+        Input<ByteBuffer> plain
+            = Input.fromSource(data("plain"), false).recyclable();
+        consumer.fire(plain);
+        Components.awaitExhaustion();
+        assertTrue(plain.isDone());
+    }
+}
@@ -47,6 +47,9 @@ public class ConfigureTcpServerTest {
             ((InetSocketAddress) app.serverAddress()).getHostString());
         assertEquals(123, app.backlog());
         assertEquals(4567, app.bufferSize());
+        assertEquals(8, app.maxWriteBatch());
+        assertTrue(app.directBuffers());
+        assertEquals(1_048_576, app.maxDirectMemory());
         Components.manager(app).fire(new Stop(), Channel.BROADCAST);
         Components.awaitExhaustion(1000);
         Components.checkAssertions();
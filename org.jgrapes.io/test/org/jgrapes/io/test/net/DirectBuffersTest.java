@@ -0,0 +1,110 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.test.net;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.Stop;
+import org.jgrapes.io.IOSubchannel;
+import org.jgrapes.io.NioDispatcher;
+import org.jgrapes.io.events.Input;
+import org.jgrapes.io.events.Output;
+import org.jgrapes.io.test.WaitForTests;
+import org.jgrapes.io.util.ManagedBuffer;
+import org.jgrapes.net.SocketServer;
+import org.jgrapes.net.events.Ready;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class DirectBuffersTest {
+
+    public static class EchoServer extends Component {
+
+        public final List<Boolean> direct
+            = Collections.synchronizedList(new ArrayList<>());
+
+        public EchoServer(long maxDirectMemory) {
+            attach(new SocketServer(this).setDirectBuffers(true)
+                .setMaxDirectMemory(maxDirectMemory));
+        }
+
+        @Handler
+        public void onRead(Input<ByteBuffer> event, IOSubchannel channel)
+                throws InterruptedException {
+            ManagedBuffer<ByteBuffer> out = channel.byteBufferPool().acquire();
+            direct.add(event.data().isDirect());
+            direct.add(out.backingBuffer().isDirect());
+            out.backingBuffer().put(event.data());
+            channel.respond(Output.fromSink(out, event.isEndOfRecord()));
+        }
+    }
+
+    private List<Boolean> echo(long maxDirectMemory)
+            throws IOException, InterruptedException, ExecutionException {
+        EchoServer app = new EchoServer(maxDirectMemory);
+        app.attach(new NioDispatcher());
+        WaitForTests<Ready> wf = new WaitForTests<>(
+            app, Ready.class, app.defaultCriterion());
+        Components.start(app);
+        Ready readyEvent = (Ready) wf.get();
+        int port = ((InetSocketAddress) readyEvent.listenAddress()).getPort();
+
+        try (Socket client = new Socket("localhost", port)) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                client.getInputStream(), StandardCharsets.US_ASCII));
+            for (int i = 0; i < 3; i++) {
+                client.getOutputStream().write(
+                    ("Hello " + i + "\n").getBytes(StandardCharsets.US_ASCII));
+                client.getOutputStream().flush();
+                assertEquals("Hello " + i, in.readLine());
+            }
+        }
+
+        Components.manager(app).fire(new Stop(), Channel.BROADCAST);
+        assertTrue(Components.awaitExhaustion(3000));
+        Components.checkAssertions();
+        return app.direct;
+    }
+
+    @Test
+    public void testDirect()
+            throws IOException, InterruptedException, ExecutionException {
+        assertTrue(echo(1024 * 1024).stream().allMatch(b -> b));
+    }
+
+    @Test
+    public void testLimitReached()
+            throws IOException, InterruptedException, ExecutionException {
+        // Falls back to heap buffers
+        assertTrue(echo(0).stream().noneMatch(b -> b));
+    }
+}
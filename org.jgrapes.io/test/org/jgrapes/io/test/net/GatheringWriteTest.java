@@ -0,0 +1,125 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.test.net;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.Stop;
+import org.jgrapes.io.IOSubchannel;
+import org.jgrapes.io.NioDispatcher;
+import org.jgrapes.io.events.Close;
+import org.jgrapes.io.events.Output;
+import org.jgrapes.io.test.WaitForTests;
+import org.jgrapes.io.util.ManagedBuffer;
+import org.jgrapes.net.SocketServer;
+import org.jgrapes.net.events.Accepted;
+import org.jgrapes.net.events.Ready;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Sends many small outputs to a slow reader, so that they queue up
+ * and are written with gathering writes.
+ */
+public class GatheringWriteTest {
+
+    private static final int LINES = 100_000;
+    private static final String TEXT = ":Gathered" + ".".repeat(100);
+
+    public static class Sender extends Component {
+
+        public final CountDownLatch fired = new CountDownLatch(1);
+        public final SocketServer server;
+
+        public Sender() {
+            server = attach(new SocketServer(this));
+            server.setMaxWriteBatch(4);
+        }
+
+        @Handler
+        public void onAccepted(Accepted event) {
+            for (IOSubchannel channel : event.channels(IOSubchannel.class)) {
+                for (int i = 0; i < LINES; i++) {
+                    channel.respond(Output.fromSource(ManagedBuffer.wrap(
+                        ByteBuffer.wrap((i + TEXT + "\n")
+                            .getBytes(StandardCharsets.US_ASCII))),
+                        false));
+                }
+                channel.respond(new Close());
+            }
+            fired.countDown();
+        }
+    }
+
+    @Test
+    public void testGathering() throws IOException, InterruptedException,
+            ExecutionException {
+        Sender app = new Sender();
+        app.attach(new NioDispatcher());
+        WaitForTests<Ready> wf = new WaitForTests<>(
+            app, Ready.class, app.defaultCriterion());
+        Components.start(app);
+        Ready readyEvent = (Ready) wf.get();
+        int port = ((InetSocketAddress) readyEvent.listenAddress()).getPort();
+
+        long directWrites = -1;
+        try (Socket client = new Socket()) {
+            // Small receive buffer and delayed reading let outputs queue up
+            client.setReceiveBufferSize(4096);
+            client.connect(new InetSocketAddress("localhost", port));
+            app.fired.await();
+            // Wait until the network buffers are full
+            while (directWrites != app.server.writeOperations()) {
+                directWrites = app.server.writeOperations();
+                Thread.sleep(100);
+            }
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                client.getInputStream(), StandardCharsets.US_ASCII));
+            int count = 0;
+            while (true) {
+                String line = in.readLine();
+                if (line == null) {
+                    break;
+                }
+                assertEquals(count + TEXT, line);
+                count += 1;
+            }
+            assertEquals(LINES, count);
+        }
+        long batchedWrites = app.server.writeOperations() - directWrites;
+
+        Components.manager(app).fire(new Stop(), Channel.BROADCAST);
+        assertTrue(Components.awaitExhaustion(3000));
+        Components.checkAssertions();
+        // Without batching, every remaining output needs a write
+        assertTrue(directWrites < LINES / 2);
+        assertTrue(batchedWrites < (LINES - directWrites) / 2);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.test.net;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.Stop;
+import org.jgrapes.io.IOSubchannel;
+import org.jgrapes.io.NioDispatcher;
+import org.jgrapes.io.NioDispatcher.NioDispatcherMXBean;
+import org.jgrapes.io.NioDispatcher.SelectorStatistics;
+import org.jgrapes.io.events.Input;
+import org.jgrapes.io.events.Output;
+import org.jgrapes.io.test.WaitForTests;
+import org.jgrapes.io.util.ManagedBuffer;
+import org.jgrapes.net.SocketServer;
+import org.jgrapes.net.events.Ready;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class NioDispatcherTest {
+
+    public static class EchoServer extends Component {
+
+        @Handler
+        public void onRead(Input<ByteBuffer> event, IOSubchannel channel)
+                throws InterruptedException {
+            ManagedBuffer<ByteBuffer> out = channel.byteBufferPool().acquire();
+            out.backingBuffer().put(event.data());
+            channel.respond(Output.fromSink(out, event.isEndOfRecord()));
+        }
+    }
+
+    @Test
+    public void testSelectors() throws IOException, InterruptedException,
+            ExecutionException, TimeoutException,
+            MalformedObjectNameException {
+        EchoServer app = new EchoServer();
+        app.attach(new SocketServer(app));
+        NioDispatcher dispatcher = new NioDispatcher(2);
+        app.attach(dispatcher);
+        WaitForTests<Ready> wf = new WaitForTests<>(
+            app, Ready.class, app.defaultCriterion());
+        Components.start(app);
+        Ready readyEvent = (Ready) wf.get();
+        int port = ((InetSocketAddress) readyEvent.listenAddress()).getPort();
+
+        List<Socket> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                @SuppressWarnings("PMD.CloseResource")
+                Socket client = new Socket("localhost", port);
+                clients.add(client);
+                client.getOutputStream().write(("Hello " + i + "\n")
+                    .getBytes("ascii"));
+                client.getOutputStream().flush();
+                BufferedReader in = new BufferedReader(
+                    new InputStreamReader(client.getInputStream(), "ascii"));
+                assertEquals("Hello " + i, in.readLine());
+            }
+
+            // Server socket and connections are distributed evenly
+            List<SelectorStatistics> stats = dispatcher.selectorStatistics();
+            assertEquals(2, stats.size());
+            assertEquals(3, stats.get(0).getKeys());
+            assertEquals(3, stats.get(1).getKeys());
+            assertTrue(stats.get(0).getSelects() > 0);
+            assertTrue(stats.get(1).getSelects() > 0);
+
+            NioDispatcherMXBean mbean = JMX.newMXBeanProxy(
+                ManagementFactory.getPlatformMBeanServer(),
+                new ObjectName("org.jgrapes.io:type=NioDispatcher,name="
+                    + ObjectName.quote(Components.objectName(dispatcher))),
+                NioDispatcherMXBean.class);
+            assertEquals(2, mbean.getSelectors().size());
+        } finally {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+
+        Components.manager(app).fire(new Stop(), Channel.BROADCAST);
+        assertTrue(Components.awaitExhaustion(3000));
+        Components.checkAssertions();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * JGrapes Event Driven Framework
+ * Copyright (C) 2026 Michael N. Lipp
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jgrapes.io.test.net;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.jgrapes.core.Channel;
+import org.jgrapes.core.Component;
+import org.jgrapes.core.Components;
+import org.jgrapes.core.annotation.Handler;
+import org.jgrapes.core.events.Stop;
+import org.jgrapes.io.IOSubchannel;
+import org.jgrapes.io.NioDispatcher;
+import org.jgrapes.io.events.Input;
+import org.jgrapes.io.events.Output;
+import org.jgrapes.io.test.WaitForTests;
+import org.jgrapes.io.util.ManagedBuffer;
+import org.jgrapes.net.SocketServer;
+import org.jgrapes.net.events.Ready;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * A connection that has used up its read buffers must not prevent
+ * other connections served by the same selector from being handled.
+ */
+public class ReadSuspensionTest {
+
+    public static class Server extends Component {
+
+        public final List<String> held
+            = Collections.synchronizedList(new ArrayList<>());
+        public final List<ManagedBuffer<ByteBuffer>> buffers
+            = Collections.synchronizedList(new ArrayList<>());
+
+        @Handler
+        public void onRead(Input<ByteBuffer> event, IOSubchannel channel)
+                throws InterruptedException {
+            if (event.data().get(event.data().position()) == 'H') {
+                // Keep the buffer, as a slow consumer would do
+                event.buffer().lockBuffer();
+                buffers.add(event.buffer());
+                held.add(StandardCharsets.US_ASCII.decode(
+                    event.data().duplicate()).toString());
+                return;
+            }
+            ManagedBuffer<ByteBuffer> out = channel.byteBufferPool().acquire();
+            out.backingBuffer().put(event.data());
+            channel.respond(Output.fromSink(out, event.isEndOfRecord()));
+        }
+
+        public void release() {
+            synchronized (buffers) {
+                buffers.forEach(ManagedBuffer::unlockBuffer);
+                buffers.clear();
+            }
+        }
+    }
+
+    private static void awaitHeld(Server app, int count)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (app.held.size() < count) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testSuspendedRead() throws IOException, InterruptedException,
+            ExecutionException, TimeoutException {
+        Server app = new Server();
+        app.attach(new SocketServer(app));
+        app.attach(new NioDispatcher(1));
+        WaitForTests<Ready> wf = new WaitForTests<>(
+            app, Ready.class, app.defaultCriterion());
+        Components.start(app);
+        Ready readyEvent = (Ready) wf.get();
+        int port = ((InetSocketAddress) readyEvent.listenAddress()).getPort();
+
+        try (Socket holding = new Socket("localhost", port)) {
+            // Use up the connection's read buffers
+            OutputStream out = holding.getOutputStream();
+            for (int i = 1; i <= 2; i++) {
+                out.write(("Held " + i).getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                awaitHeld(app, i);
+            }
+            out.write("Held 3".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            Thread.sleep(100);
+            assertEquals(2, app.held.size());
+
+            // Another connection is still served
+            try (Socket other = new Socket("localhost", port)) {
+                other.setSoTimeout(5000);
+                other.getOutputStream().write(
+                    "Echo\n".getBytes(StandardCharsets.US_ASCII));
+                other.getOutputStream().flush();
+                BufferedReader in = new BufferedReader(new InputStreamReader(
+                    other.getInputStream(), StandardCharsets.US_ASCII));
+                assertEquals("Echo", in.readLine());
+            }
+
+            // Reading resumes when buffers are released
+            app.release();
+            awaitHeld(app, 3);
+            assertEquals(List.of("Held 1", "Held 2", "Held 3"), app.held);
+            app.release();
+        }
+
+        Components.manager(app).fire(new Stop(), Channel.BROADCAST);
+        assertTrue(Components.awaitExhaustion(3000));
+        Components.checkAssertions();
+    }
+}
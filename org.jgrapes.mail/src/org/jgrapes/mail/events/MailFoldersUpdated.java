@@ -23,6 +23,7 @@ import jakarta.mail.Folder;
 import jakarta.mail.Message;
 import jakarta.mail.MessageRemovedException;
 import jakarta.mail.MessagingException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
@@ -53,7 +54,7 @@ public class MailFoldersUpdated extends Event<Void> {
      */
     public MailFoldersUpdated(List<Folder> folders, List<Message> newMessages) {
         this.folders = folders;
-        this.newMessages = newMessages;
+        this.newMessages = new ArrayList<>(newMessages);
     }
 
     /**
@@ -75,6 +76,27 @@ public class MailFoldersUpdated extends Event<Void> {
         return newMessages;
     }
 
+    /**
+     * Updates of the same folders that have not been handled yet
+     * are coalesced.
+     *
+     * @return the folders
+     */
+    @Override
+    public Object coalesceKey() {
+        return folders;
+    }
+
+    /**
+     * Adds the new messages from the later event.
+     *
+     * @param later the later event
+     */
+    @Override
+    protected void coalesce(Event<Void> later) {
+        newMessages.addAll(((MailFoldersUpdated) later).newMessages());
+    }
+
     /**
      * Execute the action with the given folder. The method ensures that
      * the folder is open.
@@ -20,6 +20,7 @@ package org.jgrapes.mail.events;
 
 import jakarta.mail.Folder;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import org.jgrapes.core.Event;
 import org.jgrapes.mail.MailChannel;
@@ -56,4 +57,15 @@ public class UpdateMailFolders extends Event<List<Folder>> {
         return folderNames;
     }
 
+    /**
+     * Updates of the same folders that have not been handled yet
+     * are coalesced.
+     *
+     * @return the set of folder names
+     */
+    @Override
+    public Object coalesceKey() {
+        return new HashSet<>(Arrays.asList(folderNames));
+    }
+
 }
@@ -67,6 +67,18 @@ public class FileChanged extends Event<Void> {
         return change;
     }
 
+    /**
+     * Modifications of the same file that have not been handled yet
+     * are coalesced.
+     *
+     * @return the path if the kind of change is
+     * {@link Kind#MODIFIED}, else `null`
+     */
+    @Override
+    public Object coalesceKey() {
+        return change == Kind.MODIFIED ? path : null;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();